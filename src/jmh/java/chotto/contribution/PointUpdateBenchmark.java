@@ -0,0 +1,78 @@
+package chotto.contribution;
+
+import chotto.objects.Fr;
+import chotto.objects.G1Point;
+import chotto.objects.G2Point;
+import chotto.objects.Secret;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Updating a 2^12 sub-ceremony with a new point per power versus in place. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xlog:gc")
+public class PointUpdateBenchmark {
+
+  private static final int NUM_G1_POWERS = 4096;
+  private static final int NUM_G2_POWERS = 65;
+
+  private final Fr secret = Secret.fromText("danksharding").toFr();
+
+  private G1Point[] g1Powers;
+  private G2Point[] g2Powers;
+
+  @Setup(Level.Invocation)
+  public void setUp() {
+    g1Powers = new G1Point[NUM_G1_POWERS];
+    for (int i = 0; i < NUM_G1_POWERS; i++) {
+      g1Powers[i] = G1Point.generator();
+    }
+    g2Powers = new G2Point[NUM_G2_POWERS];
+    for (int i = 0; i < NUM_G2_POWERS; i++) {
+      g2Powers[i] = G2Point.generator();
+    }
+  }
+
+  @Benchmark
+  public G1Point[] allocatingUpdate() {
+    final Fr power = Fr.one();
+    final byte[] scalar = new byte[Fr.BYTES];
+    for (int i = 0; i < NUM_G1_POWERS; i++) {
+      power.toBytesLittleEndian(scalar);
+      g1Powers[i] = g1Powers[i].mul(scalar);
+      if (i < NUM_G2_POWERS) {
+        g2Powers[i] = g2Powers[i].mul(scalar);
+      }
+      power.mulAssign(secret);
+    }
+    return g1Powers;
+  }
+
+  @Benchmark
+  public G1Point[] inPlaceUpdate() {
+    final Fr power = Fr.one();
+    final byte[] scalar = new byte[Fr.BYTES];
+    for (int i = 0; i < NUM_G1_POWERS; i++) {
+      power.toBytesLittleEndian(scalar);
+      g1Powers[i].mulInPlace(scalar, Fr.BITS);
+      if (i < NUM_G2_POWERS) {
+        g2Powers[i].mulInPlace(scalar, Fr.BITS);
+      }
+      power.mulAssign(secret);
+    }
+    return g1Powers;
+  }
+}
@@ -0,0 +1,62 @@
+package chotto.objects;
+
+import chotto.Constants;
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+import org.apache.tuweni.units.bigints.UInt256;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/** Powers of a secret with {@link UInt256#multiplyMod(UInt256, UInt256)} versus {@link Fr}. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PowerChainBenchmark {
+
+  @Param({"4096", "32768"})
+  private int numPowers;
+
+  private UInt256 uint256Secret;
+  private Fr frSecret;
+
+  @Setup
+  public void setUp() {
+    final Secret secret = Secret.fromText("danksharding");
+    uint256Secret = secret.toUInt256();
+    frSecret = secret.toFr();
+  }
+
+  @Benchmark
+  public void uint256PowerChain(final Blackhole blackhole) {
+    UInt256 power = UInt256.ONE;
+    for (int i = 0; i < numPowers; i++) {
+      final BigInteger scalar = power.toBigInteger();
+      blackhole.consume(scalar);
+      power = power.multiplyMod(uint256Secret, Constants.CURVE_ORDER);
+    }
+  }
+
+  @Benchmark
+  public void frPowerChain(final Blackhole blackhole) {
+    final Fr power = Fr.one();
+    final byte[] scalar = new byte[Fr.BYTES];
+    for (int i = 0; i < numPowers; i++) {
+      power.toBytesLittleEndian(scalar);
+      blackhole.consume(scalar);
+      power.mulAssign(frSecret);
+    }
+  }
+}
@@ -0,0 +1,105 @@
+package chotto.serialization;
+
+import chotto.objects.G1Point;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.apache.tuweni.bytes.Bytes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Hex (de)serialization of compressed G1 points through {@link JsonParser#getValueAsString()} and
+ * tuweni {@link Bytes} versus {@link HexCodec}. The points are random bytes, so that decompression
+ * doesn't hide the cost of the hex conversions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class HexCodecBenchmark {
+
+  @Param({"4096", "32768"})
+  private int numPoints;
+
+  private final JsonFactory jsonFactory = ChottoObjectMapper.getInstance().getFactory();
+
+  private byte[][] points;
+  private byte[] json;
+
+  @Setup
+  public void setUp() throws IOException {
+    final Random random = new Random(42);
+    points = new byte[numPoints][];
+    final StringBuilder jsonBuilder = new StringBuilder("[");
+    for (int i = 0; i < numPoints; i++) {
+      points[i] = new byte[G1Point.COMPRESSED_SIZE];
+      random.nextBytes(points[i]);
+      if (i > 0) {
+        jsonBuilder.append(',');
+      }
+      jsonBuilder.append('"').append(Bytes.wrap(points[i]).toHexString()).append('"');
+    }
+    json = jsonBuilder.append(']').toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  @Benchmark
+  public void tuweniDecode(final Blackhole blackhole) throws IOException {
+    try (final JsonParser p = jsonFactory.createParser(json)) {
+      p.nextToken();
+      while (p.nextToken() != JsonToken.END_ARRAY) {
+        blackhole.consume(Bytes.fromHexString(p.getValueAsString()).toArrayUnsafe());
+      }
+    }
+  }
+
+  @Benchmark
+  public void hexCodecDecode(final Blackhole blackhole) throws IOException {
+    try (final JsonParser p = jsonFactory.createParser(json)) {
+      p.nextToken();
+      while (p.nextToken() != JsonToken.END_ARRAY) {
+        blackhole.consume(HexCodec.decodePoint(p, G1Point.COMPRESSED_SIZE));
+      }
+    }
+  }
+
+  @Benchmark
+  public void tuweniEncode() throws IOException {
+    try (final JsonGenerator gen = jsonFactory.createGenerator(OutputStream.nullOutputStream())) {
+      gen.writeStartArray();
+      for (final byte[] point : points) {
+        gen.writeString(Bytes.wrap(point).toHexString());
+      }
+      gen.writeEndArray();
+    }
+  }
+
+  @Benchmark
+  public void hexCodecEncode() throws IOException {
+    try (final JsonGenerator gen = jsonFactory.createGenerator(OutputStream.nullOutputStream())) {
+      gen.writeStartArray();
+      for (final byte[] point : points) {
+        HexCodec.encode(gen, point);
+      }
+      gen.writeEndArray();
+    }
+  }
+}
@@ -10,18 +10,23 @@ import chotto.cli.AsciiArtHelper;
 import chotto.cli.CliInstructor;
 import chotto.cli.PropertiesVersionProvider;
 import chotto.contribution.Contributor;
+import chotto.contribution.SecretPrecomputation;
 import chotto.contribution.SubContributionManager;
 import chotto.identity.IdentityRetriever;
 import chotto.lifecycle.ApiLifecycle;
 import chotto.lifecycle.ContributeTrier;
 import chotto.objects.BatchTranscript;
+import chotto.objects.BatchTranscriptParameters;
 import chotto.objects.CeremonyStatus;
 import chotto.objects.Receipt;
 import chotto.secret.Csprng;
 import chotto.secret.SecretsManager;
 import chotto.secret.StdioCsprng;
 import chotto.sequencer.SequencerClient;
+import chotto.sequencer.TranscriptCache;
+import chotto.sequencer.TranscriptPrefetch;
 import chotto.serialization.ChottoObjectMapper;
+import chotto.serialization.TranscriptStorage;
 import chotto.sign.BlsSigner;
 import chotto.sign.EcdsaSignCallback;
 import chotto.sign.EcdsaSigner;
@@ -43,6 +48,7 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Optional;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -100,6 +106,20 @@ public class Chotto implements Callable<Integer> {
       showDefaultValue = Visibility.ALWAYS)
   private boolean verifyTranscript = false;
 
+  @Option(
+      names = {"--incremental-transcript-verification"},
+      description =
+          "Whether to only verify the participants appended to the sequencer transcript since it was last verified. A checkpoint of the verified transcript is saved in the output directory. This value is only applicable when the transcript is verified.",
+      showDefaultValue = Visibility.ALWAYS)
+  private boolean incrementalTranscriptVerification = false;
+
+  @Option(
+      names = {"--transcript-storage"},
+      description =
+          "How to store the witness and the participants of the sequencer transcript. Columnar packs them in off-heap buffers, which allows loading the transcript with a small heap. Valid values: ${COMPLETION-CANDIDATES}",
+      showDefaultValue = Visibility.ALWAYS)
+  private TranscriptStorage transcriptStorage = TranscriptStorage.HEAP;
+
   @Option(
       names = {"--contribution-attempt-period"},
       description = "How often (in seconds) to attempt contribution once authenticated",
@@ -150,6 +170,23 @@ public class Chotto implements Callable<Integer> {
       showDefaultValue = Visibility.ALWAYS)
   private boolean validateReceipt = false;
 
+  private int parallelism = Runtime.getRuntime().availableProcessors();
+
+  @Option(
+      names = {"--parallelism"},
+      description =
+          "The number of threads used for deserializing, precomputing and updating the Powers of Tau. Defaults to the number of available processors.")
+  public void setParallelism(final int value) {
+    if (value < 1) {
+      throw new ParameterException(
+          spec.commandLine(),
+          String.format(
+              "Invalid value '%d' for option '--parallelism': value should be bigger than 0.",
+              value));
+    }
+    parallelism = value;
+  }
+
   @Override
   public Integer call() {
     try {
@@ -175,6 +212,11 @@ public class Chotto implements Callable<Integer> {
 
     secretsManager.generateSecrets();
 
+    final ForkJoinPool forkJoinPool = new ForkJoinPool(parallelism);
+
+    final SecretPrecomputation secretPrecomputation =
+        SecretPrecomputation.start(secretsManager, forkJoinPool);
+
     final Store store = new Store();
 
     final AuthCallback authCallback = new AuthCallback(store);
@@ -189,22 +231,41 @@ public class Chotto implements Callable<Integer> {
     LOG.info("Started server on port {}", serverPort);
 
     final HttpClient httpClient = HttpClient.newBuilder().build();
-    final ObjectMapper objectMapper = ChottoObjectMapper.getInstance();
+    final ObjectMapper objectMapper = ChottoObjectMapper.create(forkJoinPool, transcriptStorage);
 
-    final TranscriptVerification transcriptVerification = new TranscriptVerification(objectMapper);
+    final TranscriptVerification transcriptVerification =
+        new TranscriptVerification(
+            objectMapper,
+            forkJoinPool,
+            incrementalTranscriptVerification
+                ? Optional.of(outputDirectory.resolve("transcript-checkpoint.properties"))
+                : Optional.empty());
     final ContributionVerification contributionVerification =
-        new ContributionVerification(objectMapper);
+        new ContributionVerification(objectMapper, forkJoinPool);
+
+    // avoids downloading the transcript again when it hasn't changed, even across runs
+    final TranscriptCache transcriptCache =
+        new TranscriptCache(outputDirectory.resolve("transcript-cache"));
 
     final SequencerClient sequencerClient =
         new SequencerClient(
-            httpClient, sequencer, objectMapper, transcriptVerification, contributionVerification);
+            httpClient,
+            sequencer,
+            objectMapper,
+            transcriptVerification,
+            contributionVerification,
+            Optional.of(transcriptCache));
 
     final CeremonyStatus ceremonyStatus = sequencerClient.getCeremonyStatus();
 
     AsciiArtHelper.printCeremonyStatus(ceremonyStatus);
 
-    final Optional<BatchTranscript> verifiedBatchTranscript =
-        verifyTranscript ? Optional.of(sequencerClient.getTranscript(true)) : Optional.empty();
+    // runs while the user logs in and only blocks once the transcript is needed
+    final TranscriptPrefetch transcriptPrefetch =
+        TranscriptPrefetch.start(
+            sequencerClient,
+            verifyTranscript,
+            provider.equals(Provider.ETHEREUM) && ecdsaSignContribution);
 
     final BlsSigner blsSigner = new BlsSigner();
 
@@ -239,8 +300,16 @@ public class Chotto implements Callable<Integer> {
 
     LOG.info("Your identity is {}", identity);
 
+    // the contribution must not start before the transcript passes the verification
+    transcriptPrefetch.getVerifiedTranscript();
+
     final SubContributionManager subContributionManager =
-        new SubContributionManager(secretsManager, blsSigner, identity, blsSignSubContributions);
+        new SubContributionManager(
+            secretsManager,
+            blsSigner,
+            identity,
+            blsSignSubContributions,
+            Optional.of(secretPrecomputation));
 
     subContributionManager.generateContexts();
 
@@ -250,15 +319,16 @@ public class Chotto implements Callable<Integer> {
 
     final Optional<String> ecdsaSignatureMaybe;
     if (sessionInfo.getProvider().equals(Provider.ETHEREUM) && ecdsaSignContribution) {
-      final BatchTranscript batchTranscript =
-          verifiedBatchTranscript.orElseGet(() -> sequencerClient.getTranscript(false));
-      final String ecdsaSignature = ecdsaSigner.sign(nickname, batchTranscript);
+      final BatchTranscriptParameters batchTranscriptParameters =
+          transcriptPrefetch.getTranscriptParameters();
+      final String ecdsaSignature = ecdsaSigner.sign(nickname, batchTranscriptParameters);
       ecdsaSignatureMaybe = Optional.of(ecdsaSignature);
     } else {
       ecdsaSignatureMaybe = Optional.empty();
     }
 
-    final Contributor contributor = new Contributor(subContributionManager, ecdsaSignatureMaybe);
+    final Contributor contributor =
+        new Contributor(subContributionManager, ecdsaSignatureMaybe, forkJoinPool);
 
     final ContributeTrier contributeTrier =
         new ContributeTrier(sequencerClient, TimeUnit.SECONDS, contributionAttemptPeriod);
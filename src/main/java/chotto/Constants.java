@@ -1,6 +1,7 @@
 package chotto;
 
 import java.math.BigInteger;
+import java.util.List;
 import org.apache.tuweni.units.bigints.UInt256;
 
 public class Constants {
@@ -9,6 +10,11 @@ public class Constants {
 
   public static final int NUMBER_OF_SECRETS = 4;
 
+  public static final List<Integer> SUB_CEREMONIES_NUM_G1_POWERS =
+      List.of(4096, 8192, 16384, 32768);
+
+  public static final int SUB_CEREMONY_NUM_G2_POWERS = 65;
+
   public static final String GITHUB_REPO = "https://github.com/StefanBratanov/chotto";
 
   public static final String AUTH_CALLBACK_PATH = "/auth/callback";
@@ -1,33 +1,98 @@
 package chotto.contribution;
 
-import chotto.Constants;
 import chotto.objects.Contribution;
+import chotto.objects.Fr;
 import chotto.objects.G1Point;
 import chotto.objects.G2Point;
 import chotto.objects.PowersOfTau;
-import org.apache.tuweni.units.bigints.UInt256;
+import chotto.objects.SecretPowers;
+import chotto.parallel.ChunkedTasks;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
 
 public class ContributionUpdater {
 
+  static final int CHUNK_SIZE = 1024;
+
   private ContributionUpdater() {}
 
-  public static void updatePowersOfTau(final Contribution contribution, final UInt256 secret) {
+  public static void updatePowersOfTau(final Contribution contribution, final Fr secret) {
+    updatePowersOfTau(contribution, secret, 0, contribution.getNumG1Powers());
+  }
+
+  /**
+   * Same as {@link #updatePowersOfTau(Contribution, Fr)}, but updates chunks of the powers in
+   * parallel on the given {@link ForkJoinPool}, with the same result.
+   */
+  public static void updatePowersOfTau(
+      final Contribution contribution, final Fr secret, final ForkJoinPool forkJoinPool) {
+    ChunkedTasks.runInChunks(
+        forkJoinPool,
+        contribution.getNumG1Powers(),
+        CHUNK_SIZE,
+        (start, end) -> updatePowersOfTau(contribution, secret, start, end));
+  }
+
+  /**
+   * Same as {@link #updatePowersOfTau(Contribution, Fr, ForkJoinPool)}, but takes the powers of the
+   * secret from a precomputed table, so only the point multiplications are left.
+   */
+  public static void updatePowersOfTau(
+      final Contribution contribution,
+      final SecretPowers secretPowers,
+      final ForkJoinPool forkJoinPool) {
+    if (secretPowers.getNumPowers() < contribution.getNumG1Powers()) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Expected at least %d precomputed powers but there were %d",
+              contribution.getNumG1Powers(), secretPowers.getNumPowers()));
+    }
+    ChunkedTasks.runInChunks(
+        forkJoinPool,
+        contribution.getNumG1Powers(),
+        CHUNK_SIZE,
+        (start, end) -> updatePowersOfTau(contribution, secretPowers, start, end));
+  }
+
+  private static void updatePowersOfTau(
+      final Contribution contribution, final Fr secret, final int start, final int end) {
     /// Updates the Powers of Tau within a sub-ceremony by multiplying each with a successive power
     // of the secret x.
-    UInt256 power = UInt256.ONE;
-    for (int i = 0; i < contribution.getNumG1Powers(); i++) {
-      final PowersOfTau powersOfTau = contribution.getPowersOfTau();
+    final PowersOfTau powersOfTau = contribution.getPowersOfTau();
+    final G1Point[] g1Powers = powersOfTau.getG1Powers();
+    final G2Point[] g2Powers = powersOfTau.getG2Powers();
+    final Fr power = secret.pow(start);
+    final byte[] scalar = new byte[Fr.BYTES];
+    for (int i = start; i < end; i++) {
+      power.toBytesLittleEndian(scalar);
       // Update G1 Powers
-      final G1Point[] g1Powers = powersOfTau.getG1Powers();
-      final G1Point currentG1Power = g1Powers[i];
-      g1Powers[i] = currentG1Power.mul(power);
+      g1Powers[i].mulInPlace(scalar, Fr.BITS);
       // Update G2 Powers
       if (i < contribution.getNumG2Powers()) {
-        final G2Point[] g2Powers = powersOfTau.getG2Powers();
-        final G2Point currentG2Power = g2Powers[i];
-        g2Powers[i] = currentG2Power.mul(power);
+        g2Powers[i].mulInPlace(scalar, Fr.BITS);
+      }
+      power.mulAssign(secret);
+    }
+    power.wipe();
+    Arrays.fill(scalar, (byte) 0);
+  }
+
+  private static void updatePowersOfTau(
+      final Contribution contribution,
+      final SecretPowers secretPowers,
+      final int start,
+      final int end) {
+    final PowersOfTau powersOfTau = contribution.getPowersOfTau();
+    final G1Point[] g1Powers = powersOfTau.getG1Powers();
+    final G2Point[] g2Powers = powersOfTau.getG2Powers();
+    final byte[] scalar = new byte[Fr.BYTES];
+    for (int i = start; i < end; i++) {
+      secretPowers.copyPower(i, scalar);
+      g1Powers[i].mulInPlace(scalar, Fr.BITS);
+      if (i < contribution.getNumG2Powers()) {
+        g2Powers[i].mulInPlace(scalar, Fr.BITS);
       }
-      power = power.multiplyMod(secret, Constants.CURVE_ORDER);
     }
+    Arrays.fill(scalar, (byte) 0);
   }
 }
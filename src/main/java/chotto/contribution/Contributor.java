@@ -2,10 +2,13 @@ package chotto.contribution;
 
 import chotto.objects.BatchContribution;
 import chotto.objects.Contribution;
+import chotto.objects.Fr;
+import chotto.objects.PointsNormalization;
+import chotto.objects.SecretPowers;
 import chotto.objects.SubContributionContext;
 import java.util.List;
 import java.util.Optional;
-import org.apache.tuweni.units.bigints.UInt256;
+import java.util.concurrent.ForkJoinPool;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -15,12 +18,21 @@ public class Contributor {
 
   private final SubContributionManager subContributionManager;
   private final Optional<String> ecdsaSignatureMaybe;
+  private final ForkJoinPool forkJoinPool;
 
   public Contributor(
       final SubContributionManager subContributionManager,
       final Optional<String> ecdsaSignatureMaybe) {
+    this(subContributionManager, ecdsaSignatureMaybe, ForkJoinPool.commonPool());
+  }
+
+  public Contributor(
+      final SubContributionManager subContributionManager,
+      final Optional<String> ecdsaSignatureMaybe,
+      final ForkJoinPool forkJoinPool) {
     this.subContributionManager = subContributionManager;
     this.ecdsaSignatureMaybe = ecdsaSignatureMaybe;
+    this.forkJoinPool = forkJoinPool;
   }
 
   public BatchContribution contribute(final BatchContribution batchContribution) {
@@ -30,9 +42,20 @@ public class Contributor {
     final List<Contribution> contributions = batchContribution.getContributions();
     for (final Contribution contribution : contributions) {
       final SubContributionContext subContributionContext = subContributionContexts.get(index);
-      final UInt256 secret = subContributionContext.getSecret().toUInt256();
       LOG.info("Updating sub-contribution {}/{}", ++index, contributions.size());
-      ContributionUpdater.updatePowersOfTau(contribution, secret);
+      final Optional<SecretPowers> secretPowersMaybe =
+          subContributionContext
+              .getSecretPowersMaybe()
+              .filter(secretPowers -> secretPowers.getNumPowers() >= contribution.getNumG1Powers());
+      if (secretPowersMaybe.isPresent()) {
+        ContributionUpdater.updatePowersOfTau(contribution, secretPowersMaybe.get(), forkJoinPool);
+      } else {
+        final Fr secret = subContributionContext.getSecret().toFr();
+        ContributionUpdater.updatePowersOfTau(contribution, secret, forkJoinPool);
+        secret.wipe();
+      }
+      subContributionContext.getSecretPowersMaybe().ifPresent(SecretPowers::wipe);
+      PointsNormalization.normalizeAndCompress(contribution.getPowersOfTau(), forkJoinPool);
       LOG.info("Updated Powers of Tau");
       contribution.setPotPubkey(subContributionContext.getPotPubkey());
       LOG.info("Updated Witness");
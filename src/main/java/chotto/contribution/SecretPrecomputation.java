@@ -0,0 +1,76 @@
+package chotto.contribution;
+
+import chotto.Constants;
+import chotto.objects.G2Point;
+import chotto.objects.Secret;
+import chotto.objects.SecretPowers;
+import chotto.secret.SecretsManager;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Computes the PoT pubkeys and the {@link SecretPowers} of each secret in the background while
+ * waiting for our turn to contribute.
+ */
+public class SecretPrecomputation {
+
+  private static final Logger LOG = LoggerFactory.getLogger(SecretPrecomputation.class);
+
+  public static SecretPrecomputation start(
+      final SecretsManager secretsManager, final Executor executor) {
+    final List<Secret> secrets = secretsManager.getSecrets();
+    final List<CompletableFuture<PrecomputedSecret>> precomputedSecrets =
+        IntStream.range(0, secrets.size())
+            .mapToObj(
+                index ->
+                    CompletableFuture.supplyAsync(
+                        () ->
+                            precompute(
+                                secrets.get(index),
+                                Constants.SUB_CEREMONIES_NUM_G1_POWERS.get(index)),
+                        executor))
+            .collect(Collectors.toList());
+    CompletableFuture.allOf(precomputedSecrets.toArray(CompletableFuture[]::new))
+        .thenRun(() -> LOG.info("Precomputed the powers of the secrets"));
+    return new SecretPrecomputation(precomputedSecrets);
+  }
+
+  private static PrecomputedSecret precompute(final Secret secret, final int numPowers) {
+    final G2Point potPubkey = SubContributionManager.computePotPubkey(secret);
+    final SecretPowers secretPowers = SecretPowers.compute(secret.toFr(), numPowers);
+    return new PrecomputedSecret(potPubkey, secretPowers);
+  }
+
+  private final List<CompletableFuture<PrecomputedSecret>> precomputedSecrets;
+
+  private SecretPrecomputation(
+      final List<CompletableFuture<PrecomputedSecret>> precomputedSecrets) {
+    this.precomputedSecrets = precomputedSecrets;
+  }
+
+  /** Blocks until the PoT pubkey of the secret at the given index is computed. */
+  public G2Point getPotPubkey(final int index) {
+    return precomputedSecrets.get(index).join().potPubkey;
+  }
+
+  /** Blocks until the powers of the secret at the given index are computed. */
+  public SecretPowers getSecretPowers(final int index) {
+    return precomputedSecrets.get(index).join().secretPowers;
+  }
+
+  private static class PrecomputedSecret {
+
+    private final G2Point potPubkey;
+    private final SecretPowers secretPowers;
+
+    private PrecomputedSecret(final G2Point potPubkey, final SecretPowers secretPowers) {
+      this.potPubkey = potPubkey;
+      this.secretPowers = secretPowers;
+    }
+  }
+}
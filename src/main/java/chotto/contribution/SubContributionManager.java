@@ -2,6 +2,8 @@ package chotto.contribution;
 
 import chotto.objects.BlsSignature;
 import chotto.objects.G2Point;
+import chotto.objects.Secret;
+import chotto.objects.SecretPowers;
 import chotto.objects.SubContributionContext;
 import chotto.secret.SecretsManager;
 import chotto.sign.BlsSigner;
@@ -17,32 +19,49 @@ public class SubContributionManager {
   private final BlsSigner blsSigner;
   private final String identity;
   private final boolean blsSignSubContributions;
+  private final Optional<SecretPrecomputation> secretPrecomputationMaybe;
 
   public SubContributionManager(
       final SecretsManager secretsManager,
       final BlsSigner blsSigner,
       final String identity,
       final boolean blsSignSubContributions) {
+    this(secretsManager, blsSigner, identity, blsSignSubContributions, Optional.empty());
+  }
+
+  public SubContributionManager(
+      final SecretsManager secretsManager,
+      final BlsSigner blsSigner,
+      final String identity,
+      final boolean blsSignSubContributions,
+      final Optional<SecretPrecomputation> secretPrecomputationMaybe) {
     this.secretsManager = secretsManager;
     this.blsSigner = blsSigner;
     this.identity = identity;
     this.blsSignSubContributions = blsSignSubContributions;
+    this.secretPrecomputationMaybe = secretPrecomputationMaybe;
   }
 
   public void generateContexts() {
-    secretsManager
-        .getSecrets()
-        .forEach(
-            secret -> {
-              final G2Point potPubKey = G2Point.generator().mul(secret.toUInt256());
-              final Optional<BlsSignature> blsSignatureMaybe =
-                  blsSignSubContributions
-                      ? Optional.of(blsSigner.sign(secret, identity))
-                      : Optional.empty();
-              final SubContributionContext context =
-                  new SubContributionContext(secret, blsSignatureMaybe, potPubKey);
-              contexts.add(context);
-            });
+    final List<Secret> secrets = secretsManager.getSecrets();
+    for (int i = 0; i < secrets.size(); i++) {
+      final int index = i;
+      final Secret secret = secrets.get(index);
+      final G2Point potPubKey =
+          secretPrecomputationMaybe
+              .map(secretPrecomputation -> secretPrecomputation.getPotPubkey(index))
+              .orElseGet(() -> computePotPubkey(secret));
+      final Optional<SecretPowers> secretPowersMaybe =
+          secretPrecomputationMaybe.map(
+              secretPrecomputation -> secretPrecomputation.getSecretPowers(index));
+      final Optional<BlsSignature> blsSignatureMaybe =
+          blsSignSubContributions
+              ? Optional.of(blsSigner.sign(secret, identity))
+              : Optional.empty();
+      final SubContributionContext context =
+          new SubContributionContext(secret, blsSignatureMaybe, potPubKey, secretPowersMaybe);
+      contexts.add(context);
+    }
   }
 
   public List<SubContributionContext> getContexts() {
@@ -51,4 +70,8 @@ public class SubContributionManager {
     }
     return contexts;
   }
+
+  static G2Point computePotPubkey(final Secret secret) {
+    return G2Point.generator().mul(secret.toFr().toBytesLittleEndian());
+  }
 }
@@ -67,29 +67,21 @@ public class ApiLifecycle {
 
     LOG.info("Uploading contribution...");
 
-    final Receipt receipt = sequencerClient.contribute(updatedBatchContribution, sessionId);
+    final Path contributionPath = outputDirectory.resolve("contribution-" + nickname + ".json");
+
+    // the contribution is saved while it is being uploaded
+    final Receipt receipt =
+        sequencerClient.contribute(updatedBatchContribution, sessionId, contributionPath);
 
     LOG.info("Contribution uploading was successful");
 
     LOG.info("Received receipt with signature {}", receipt.getSignature());
 
-    saveContribution(updatedBatchContribution, nickname);
     saveReceipt(receipt, nickname);
 
     return receipt;
   }
 
-  private void saveContribution(final BatchContribution contribution, final String nickname) {
-    final Path contributionPath = outputDirectory.resolve("contribution-" + nickname + ".json");
-    try {
-      final String contributionJson = objectMapper.writeValueAsString(contribution);
-      Files.writeString(contributionPath, contributionJson, CREATE, TRUNCATE_EXISTING);
-      LOG.info("Saved contribution to {}", contributionPath);
-    } catch (final Exception ex) {
-      LOG.error("Couldn't save contribution to {}", contributionPath, ex);
-    }
-  }
-
   private void saveReceipt(final Receipt receipt, final String nickname) {
     final Path receiptPath = outputDirectory.resolve("receipt-" + nickname + ".txt");
     try {
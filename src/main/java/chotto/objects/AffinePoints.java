@@ -0,0 +1,16 @@
+package chotto.objects;
+
+/** Points converted to affine coordinates once for several multi-scalar multiplications. */
+public interface AffinePoints<T> {
+
+  int size();
+
+  /** The points in [from, to), sharing the affine coordinates which were already computed. */
+  AffinePoints<T> slice(int from, int to);
+
+  /**
+   * Computes the sum of points[i] * scalars[i], where the scalars are stored back to back in {@code
+   * scalars} as little-endian integers of {@code nbits} bits each.
+   */
+  T linearCombination(byte[] scalars, int nbits);
+}
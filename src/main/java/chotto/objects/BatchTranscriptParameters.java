@@ -0,0 +1,32 @@
+package chotto.objects;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * The parameters of the sub-ceremonies of a {@link BatchTranscript}, which is all that is needed
+ * for creating the typed data of an ECDSA signature.
+ */
+public class BatchTranscriptParameters {
+
+  public static BatchTranscriptParameters fromBatchTranscript(
+      final BatchTranscript batchTranscript) {
+    return new BatchTranscriptParameters(
+        batchTranscript.getTranscripts().stream()
+            .map(
+                transcript ->
+                    new TranscriptParameters(
+                        transcript.getNumG1Powers(), transcript.getNumG2Powers()))
+            .collect(Collectors.toList()));
+  }
+
+  private final List<TranscriptParameters> transcripts;
+
+  public BatchTranscriptParameters(final List<TranscriptParameters> transcripts) {
+    this.transcripts = transcripts;
+  }
+
+  public List<TranscriptParameters> getTranscripts() {
+    return transcripts;
+  }
+}
@@ -2,15 +2,21 @@ package chotto.objects;
 
 import java.util.Objects;
 import org.apache.tuweni.bytes.Bytes;
+import supranational.blst.P1;
 import supranational.blst.P1_Affine;
 
 public class BlsSignature {
 
+  public static final int COMPRESSED_SIZE = 48;
+
   private final P1_Affine ecPoint;
 
   public static BlsSignature fromHexString(final String hexString) {
-    final Bytes bytes = Bytes.fromHexString(hexString);
-    return new BlsSignature(new P1_Affine(bytes.toArrayUnsafe()));
+    return fromBytes(Bytes.fromHexString(hexString).toArrayUnsafe());
+  }
+
+  public static BlsSignature fromBytes(final byte[] bytes) {
+    return new BlsSignature(new P1_Affine(bytes));
   }
 
   public BlsSignature(final P1_Affine ecPoint) {
@@ -21,6 +27,11 @@ public class BlsSignature {
     return ecPoint;
   }
 
+  /** Returns the signature as a point, for verifying it with pairings. */
+  public G1Point toG1Point() {
+    return new G1Point(new P1(ecPoint));
+  }
+
   public Bytes toBytesCompressed() {
     return Bytes.wrap(ecPoint.compress());
   }
@@ -1,8 +1,10 @@
 package chotto.objects;
 
+import chotto.serialization.NumG1PowersDeserializer;
 import com.fasterxml.jackson.annotation.JsonAlias;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import java.util.Objects;
 
 public class Contribution {
@@ -15,7 +17,8 @@ public class Contribution {
 
   @JsonCreator
   public Contribution(
-      @JsonProperty("numG1Powers") final int numG1Powers,
+      @JsonProperty("numG1Powers") @JsonDeserialize(using = NumG1PowersDeserializer.class)
+          final int numG1Powers,
       @JsonProperty("numG2Powers") final int numG2Powers,
       @JsonProperty("powersOfTau") final PowersOfTau powersOfTau,
       @JsonProperty("potPubkey") final G2Point potPubkey,
@@ -0,0 +1,275 @@
+package chotto.objects;
+
+import chotto.Constants;
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/** Mutable BLS12-381 scalar in Montgomery form. Not thread-safe. */
+public final class Fr {
+
+  public static final int BITS = 255;
+
+  public static final int BYTES = 32;
+
+  // r = 0x73eda753299d7d483339d80809a1d80553bda402fffe5bfeffffffff00000001
+  private static final long R0 = 0xffffffff00000001L;
+  private static final long R1 = 0x53bda402fffe5bfeL;
+  private static final long R2 = 0x3339d80809a1d805L;
+  private static final long R3 = 0x73eda753299d7d48L;
+
+  // -r^-1 mod 2^64
+  private static final long INV = 0xfffffffeffffffffL;
+
+  // 2^512 mod r, used for converting into Montgomery form
+  private static final long[] R_SQUARED = {
+    0xc999e990f3f29c6dL, 0x2b6cedcb87925c23L, 0x05d314967254398fL, 0x0748d9d99f59ff11L
+  };
+
+  // 2^256 mod r, which is 1 in Montgomery form
+  private static final long[] MONTGOMERY_ONE = {
+    0x00000001fffffffeL, 0x5884b7fa00034802L, 0x998c4fefecbc4ff5L, 0x1824b159acc5056fL
+  };
+
+  private static final long[] CANONICAL_ONE = {1, 0, 0, 0};
+
+  public static Fr one() {
+    return new Fr(MONTGOMERY_ONE.clone());
+  }
+
+  public static Fr fromBigInteger(final BigInteger value) {
+    final BigInteger reduced = value.mod(Constants.CURVE_ORDER.toBigInteger());
+    final long[] limbs = new long[4];
+    for (int i = 0; i < 4; i++) {
+      limbs[i] = reduced.shiftRight(64 * i).longValue();
+    }
+    montgomeryMultiply(limbs, R_SQUARED, limbs);
+    return new Fr(limbs);
+  }
+
+  public static Fr fromBytesBigEndian(final byte[] bytes) {
+    return fromBigInteger(new BigInteger(1, bytes));
+  }
+
+  private final long[] limbs;
+  private final long[] scratch = new long[4];
+
+  private Fr(final long[] limbs) {
+    this.limbs = limbs;
+  }
+
+  public Fr copy() {
+    return new Fr(limbs.clone());
+  }
+
+  public Fr set(final Fr other) {
+    System.arraycopy(other.limbs, 0, limbs, 0, 4);
+    return this;
+  }
+
+  public Fr mulAssign(final Fr other) {
+    montgomeryMultiply(limbs, other.limbs, limbs);
+    return this;
+  }
+
+  public Fr pow(final long exponent) {
+    final Fr result = one();
+    final Fr base = copy();
+    long e = exponent;
+    while (e > 0) {
+      if ((e & 1) == 1) {
+        result.mulAssign(base);
+      }
+      base.mulAssign(base);
+      e >>>= 1;
+    }
+    base.wipe();
+    return result;
+  }
+
+  /** Little-endian canonical bytes, the scalar encoding blst expects. */
+  public void toBytesLittleEndian(final byte[] dst) {
+    montgomeryMultiply(limbs, CANONICAL_ONE, scratch);
+    for (int i = 0; i < 4; i++) {
+      final long limb = scratch[i];
+      for (int j = 0; j < 8; j++) {
+        dst[8 * i + j] = (byte) (limb >>> (8 * j));
+      }
+    }
+    Arrays.fill(scratch, 0);
+  }
+
+  public byte[] toBytesLittleEndian() {
+    final byte[] bytes = new byte[BYTES];
+    toBytesLittleEndian(bytes);
+    return bytes;
+  }
+
+  public BigInteger toBigInteger() {
+    final byte[] littleEndian = toBytesLittleEndian();
+    final byte[] bigEndian = new byte[BYTES];
+    for (int i = 0; i < BYTES; i++) {
+      bigEndian[i] = littleEndian[BYTES - 1 - i];
+    }
+    return new BigInteger(1, bigEndian);
+  }
+
+  public void wipe() {
+    Arrays.fill(limbs, 0);
+    Arrays.fill(scratch, 0);
+  }
+
+  // CIOS Montgomery multiplication; out may alias a or b
+  private static void montgomeryMultiply(final long[] a, final long[] b, final long[] out) {
+    final long a0 = a[0];
+    final long a1 = a[1];
+    final long a2 = a[2];
+    final long a3 = a[3];
+    final long b0 = b[0];
+    final long b1 = b[1];
+    final long b2 = b[2];
+    final long b3 = b[3];
+    long t0 = 0;
+    long t1 = 0;
+    long t2 = 0;
+    long t3 = 0;
+    long t4 = 0;
+    for (int i = 0; i < 4; i++) {
+      final long bi = i == 0 ? b0 : i == 1 ? b1 : i == 2 ? b2 : b3;
+      long lo;
+      long hi;
+      long carry;
+      // t += a * b[i]
+      lo = a0 * bi;
+      hi = multiplyHighUnsigned(a0, bi);
+      lo += t0;
+      hi += carry(lo, t0);
+      t0 = lo;
+      carry = hi;
+
+      lo = a1 * bi;
+      hi = multiplyHighUnsigned(a1, bi);
+      lo += t1;
+      hi += carry(lo, t1);
+      lo += carry;
+      hi += carry(lo, carry);
+      t1 = lo;
+      carry = hi;
+
+      lo = a2 * bi;
+      hi = multiplyHighUnsigned(a2, bi);
+      lo += t2;
+      hi += carry(lo, t2);
+      lo += carry;
+      hi += carry(lo, carry);
+      t2 = lo;
+      carry = hi;
+
+      lo = a3 * bi;
+      hi = multiplyHighUnsigned(a3, bi);
+      lo += t3;
+      hi += carry(lo, t3);
+      lo += carry;
+      hi += carry(lo, carry);
+      t3 = lo;
+      t4 += hi;
+
+      // t = (t + m * r) / 2^64
+      final long m = t0 * INV;
+
+      lo = m * R0;
+      hi = multiplyHighUnsigned(m, R0);
+      lo += t0;
+      hi += carry(lo, t0);
+      carry = hi;
+
+      lo = m * R1;
+      hi = multiplyHighUnsigned(m, R1);
+      lo += t1;
+      hi += carry(lo, t1);
+      lo += carry;
+      hi += carry(lo, carry);
+      t0 = lo;
+      carry = hi;
+
+      lo = m * R2;
+      hi = multiplyHighUnsigned(m, R2);
+      lo += t2;
+      hi += carry(lo, t2);
+      lo += carry;
+      hi += carry(lo, carry);
+      t1 = lo;
+      carry = hi;
+
+      lo = m * R3;
+      hi = multiplyHighUnsigned(m, R3);
+      lo += t3;
+      hi += carry(lo, t3);
+      lo += carry;
+      hi += carry(lo, carry);
+      t2 = lo;
+      carry = hi;
+
+      t3 = t4 + carry;
+      t4 = carry(t3, carry);
+    }
+    // conditionally subtract r so that the result is fully reduced
+    if (t4 != 0 || !lessThanModulus(t0, t1, t2, t3)) {
+      long borrow;
+      long diff;
+      diff = t0 - R0;
+      borrow = borrow(t0, R0, 0);
+      t0 = diff;
+      diff = t1 - R1 - borrow;
+      borrow = borrow(t1, R1, borrow);
+      t1 = diff;
+      diff = t2 - R2 - borrow;
+      borrow = borrow(t2, R2, borrow);
+      t2 = diff;
+      t3 = t3 - R3 - borrow;
+    }
+    out[0] = t0;
+    out[1] = t1;
+    out[2] = t2;
+    out[3] = t3;
+  }
+
+  private static long multiplyHighUnsigned(final long x, final long y) {
+    return Math.multiplyHigh(x, y) + ((x >> 63) & y) + ((y >> 63) & x);
+  }
+
+  private static long carry(final long sum, final long addend) {
+    return Long.compareUnsigned(sum, addend) < 0 ? 1 : 0;
+  }
+
+  private static long borrow(final long x, final long y, final long borrowIn) {
+    final int comparison = Long.compareUnsigned(x, y);
+    return comparison < 0 || (comparison == 0 && borrowIn != 0) ? 1 : 0;
+  }
+
+  private static boolean lessThanModulus(
+      final long t0, final long t1, final long t2, final long t3) {
+    if (t3 != R3) {
+      return Long.compareUnsigned(t3, R3) < 0;
+    }
+    if (t2 != R2) {
+      return Long.compareUnsigned(t2, R2) < 0;
+    }
+    if (t1 != R1) {
+      return Long.compareUnsigned(t1, R1) < 0;
+    }
+    return Long.compareUnsigned(t0, R0) < 0;
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    final Fr fr = (Fr) o;
+    return Arrays.equals(limbs, fr.limbs);
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(limbs);
+  }
+}
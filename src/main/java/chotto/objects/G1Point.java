@@ -1,37 +1,166 @@
 package chotto.objects;
 
-import java.util.Objects;
+import java.util.Arrays;
+import java.util.List;
 import org.apache.tuweni.bytes.Bytes;
-import org.apache.tuweni.units.bigints.UInt256;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import supranational.blst.P1;
+import supranational.blst.P1_Affine;
+import supranational.blst.P1_Affines;
+import supranational.blst.P1s;
 
 public class G1Point {
 
+  private static final Logger LOG = LoggerFactory.getLogger(G1Point.class);
+
+  public static final int COMPRESSED_SIZE = 48;
+
   public static G1Point fromHexString(final String hexString) {
-    final Bytes bytes = Bytes.fromHexString(hexString);
-    return new G1Point(new P1(bytes.toArrayUnsafe()));
+    return fromBytes(Bytes.fromHexString(hexString).toArrayUnsafe());
+  }
+
+  /**
+   * Decodes a point from its serialized form. A compressed point is only decompressed once it is
+   * needed for arithmetic or a subgroup check, so an invalid encoding is only detected then. The
+   * array is kept as the compressed form of the point, so it must not be modified afterwards.
+   */
+  public static G1Point fromBytes(final byte[] bytes) {
+    if (bytes.length == COMPRESSED_SIZE) {
+      return new G1Point(null, bytes);
+    }
+    return new G1Point(new P1(bytes));
+  }
+
+  public static G1Point generator() {
+    return new G1Point(P1.generator());
   }
 
-  private final P1 p1;
+  /** Hashes the message to the curve in the same way as it is done when signing it with BLS. */
+  public static G1Point hashToCurve(final byte[] message, final String dst) {
+    return new G1Point(new P1().hash_to(message, dst, new byte[0]));
+  }
 
-  private G1Point(final P1 p1) {
+  /**
+   * Computes the sum of points[i] * scalars[i] with a multi-scalar multiplication, where the
+   * scalars are stored back to back in {@code scalars} as little-endian integers of {@code nbits}
+   * bits each.
+   */
+  public static G1Point linearCombination(
+      final List<G1Point> points, final byte[] scalars, final int nbits) {
+    return toAffine(points).linearCombination(scalars, nbits);
+  }
+
+  /**
+   * Converts the points to affine coordinates for several linear combinations of them.
+   *
+   * @throws IllegalArgumentException if the compressed form of one of the points is not valid
+   */
+  public static AffinePoints<G1Point> toAffine(final List<G1Point> points) {
+    final P1[] p1Points = points.stream().map(G1Point::getP1).toArray(P1[]::new);
+    return new AffineG1Points(P1s.to_affine(p1Points));
+  }
+
+  // decompressed lazily, so points which are only compared or serialized never decompress
+  private volatile P1 p1;
+
+  // cached compressed form, which is reset whenever the point is mutated
+  private volatile byte[] compressed;
+
+  G1Point(final P1 p1) {
+    this(p1, null);
+  }
+
+  private G1Point(final P1 p1, final byte[] compressed) {
     this.p1 = p1;
+    this.compressed = compressed;
+  }
+
+  P1 getP1() {
+    P1 result = p1;
+    if (result == null) {
+      result = decompress(compressed);
+      p1 = result;
+    }
+    return result;
+  }
+
+  private static P1 decompress(final byte[] compressed) {
+    try {
+      return new P1(compressed);
+    } catch (final RuntimeException ex) {
+      throw new IllegalArgumentException(
+          "Invalid compressed G1 point: " + Bytes.wrap(compressed).toHexString(), ex);
+    }
+  }
+
+  /**
+   * Decompresses the point ahead of its use for arithmetic, for example to decompress many points
+   * in parallel.
+   *
+   * @throws IllegalArgumentException if the compressed form is not a valid point
+   */
+  public void decompress() {
+    getP1();
+  }
+
+  byte[] getCompressed() {
+    byte[] result = compressed;
+    if (result == null) {
+      result = getP1().compress();
+      compressed = result;
+    }
+    return result;
+  }
+
+  void setCompressed(final byte[] compressed) {
+    this.compressed = compressed;
   }
 
   public Bytes toBytesCompressed() {
-    return Bytes.wrap(p1.compress());
+    return Bytes.wrap(getCompressed().clone());
   }
 
   public String toHexString() {
     return toBytesCompressed().toHexString();
   }
 
-  public G1Point mul(final UInt256 scalar) {
-    return new G1Point(p1.mult(scalar.toBigInteger()));
+  /**
+   * Multiplies the point by a scalar given as little-endian bytes, such as the ones produced by
+   * {@link Fr#toBytesLittleEndian(byte[])}.
+   */
+  public G1Point mul(final byte[] scalar) {
+    return mul(scalar, Fr.BITS);
+  }
+
+  /** Same as {@link #mul(byte[])}, but for a little-endian scalar of {@code nbits} bits. */
+  public G1Point mul(final byte[] scalar, final int nbits) {
+    return new G1Point(getP1().dup().mult(scalar, nbits));
+  }
+
+  /**
+   * Multiplies the point in place by a little-endian scalar of {@code nbits} bits, so the
+   * underlying native point is mutated and no new point is created.
+   */
+  public void mulInPlace(final byte[] scalar, final int nbits) {
+    getP1().mult(scalar, nbits);
+    compressed = null;
   }
 
+  public G1Point add(final G1Point other) {
+    return new G1Point(getP1().dup().add(other.getP1()));
+  }
+
+  /** Returns false as well if the compressed form of the point is not a valid point. */
   public boolean isInPrimeSubgroup() {
-    return p1.in_group();
+    final P1 point;
+    try {
+      point = getP1();
+    } catch (final IllegalArgumentException ex) {
+      LOG.warn("Subgroup check failed, the point can't be decompressed: {}", ex.getMessage());
+      return false;
+    }
+    return point.in_group();
   }
 
   @Override
@@ -39,11 +168,35 @@ public class G1Point {
     if (this == o) return true;
     if (o == null || getClass() != o.getClass()) return false;
     final G1Point g1Point = (G1Point) o;
-    return Objects.equals(toBytesCompressed(), g1Point.toBytesCompressed());
+    return Arrays.equals(getCompressed(), g1Point.getCompressed());
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(toBytesCompressed());
+    return Arrays.hashCode(getCompressed());
+  }
+
+  private static class AffineG1Points implements AffinePoints<G1Point> {
+
+    private final P1_Affine[] points;
+
+    private AffineG1Points(final P1_Affine[] points) {
+      this.points = points;
+    }
+
+    @Override
+    public int size() {
+      return points.length;
+    }
+
+    @Override
+    public AffinePoints<G1Point> slice(final int from, final int to) {
+      return new AffineG1Points(Arrays.copyOfRange(points, from, to));
+    }
+
+    @Override
+    public G1Point linearCombination(final byte[] scalars, final int nbits) {
+      return new G1Point(P1_Affines.mult_pippenger(points, scalars, nbits));
+    }
   }
 }
@@ -1,41 +1,161 @@
 package chotto.objects;
 
-import java.util.Objects;
+import java.util.Arrays;
+import java.util.List;
 import org.apache.tuweni.bytes.Bytes;
-import org.apache.tuweni.units.bigints.UInt256;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import supranational.blst.P2;
+import supranational.blst.P2_Affine;
+import supranational.blst.P2_Affines;
+import supranational.blst.P2s;
 
 public class G2Point {
 
+  private static final Logger LOG = LoggerFactory.getLogger(G2Point.class);
+
+  public static final int COMPRESSED_SIZE = 96;
+
   public static G2Point fromHexString(final String hexString) {
-    final Bytes bytes = Bytes.fromHexString(hexString);
-    return new G2Point(new P2(bytes.toArrayUnsafe()));
+    return fromBytes(Bytes.fromHexString(hexString).toArrayUnsafe());
+  }
+
+  /**
+   * Decodes a point from its serialized form. A compressed point is only decompressed once it is
+   * needed for arithmetic or a subgroup check, so an invalid encoding is only detected then. The
+   * array is kept as the compressed form of the point, so it must not be modified afterwards.
+   */
+  public static G2Point fromBytes(final byte[] bytes) {
+    if (bytes.length == COMPRESSED_SIZE) {
+      return new G2Point(null, bytes);
+    }
+    return new G2Point(new P2(bytes));
   }
 
   public static G2Point generator() {
     return new G2Point(P2.generator());
   }
 
-  private final P2 p2;
+  /**
+   * Computes the sum of points[i] * scalars[i] with a multi-scalar multiplication, where the
+   * scalars are stored back to back in {@code scalars} as little-endian integers of {@code nbits}
+   * bits each.
+   */
+  public static G2Point linearCombination(
+      final List<G2Point> points, final byte[] scalars, final int nbits) {
+    return toAffine(points).linearCombination(scalars, nbits);
+  }
+
+  /**
+   * Converts the points to affine coordinates for several linear combinations of them.
+   *
+   * @throws IllegalArgumentException if the compressed form of one of the points is not valid
+   */
+  public static AffinePoints<G2Point> toAffine(final List<G2Point> points) {
+    final P2[] p2Points = points.stream().map(G2Point::getP2).toArray(P2[]::new);
+    return new AffineG2Points(P2s.to_affine(p2Points));
+  }
+
+  // decompressed lazily, so points which are only compared or serialized never decompress
+  private volatile P2 p2;
+
+  // cached compressed form, which is reset whenever the point is mutated
+  private volatile byte[] compressed;
 
   private G2Point(final P2 p2) {
+    this(p2, null);
+  }
+
+  private G2Point(final P2 p2, final byte[] compressed) {
     this.p2 = p2;
+    this.compressed = compressed;
+  }
+
+  P2 getP2() {
+    P2 result = p2;
+    if (result == null) {
+      result = decompress(compressed);
+      p2 = result;
+    }
+    return result;
+  }
+
+  private static P2 decompress(final byte[] compressed) {
+    try {
+      return new P2(compressed);
+    } catch (final RuntimeException ex) {
+      throw new IllegalArgumentException(
+          "Invalid compressed G2 point: " + Bytes.wrap(compressed).toHexString(), ex);
+    }
+  }
+
+  /**
+   * Decompresses the point ahead of its use for arithmetic, for example to decompress many points
+   * in parallel.
+   *
+   * @throws IllegalArgumentException if the compressed form is not a valid point
+   */
+  public void decompress() {
+    getP2();
+  }
+
+  byte[] getCompressed() {
+    byte[] result = compressed;
+    if (result == null) {
+      result = getP2().compress();
+      compressed = result;
+    }
+    return result;
+  }
+
+  void setCompressed(final byte[] compressed) {
+    this.compressed = compressed;
   }
 
   public Bytes toBytesCompressed() {
-    return Bytes.wrap(p2.compress());
+    return Bytes.wrap(getCompressed().clone());
   }
 
   public String toHexString() {
     return toBytesCompressed().toHexString();
   }
 
-  public G2Point mul(final UInt256 scalar) {
-    return new G2Point(p2.mult(scalar.toBigInteger()));
+  /**
+   * Multiplies the point by a scalar given as little-endian bytes, such as the ones produced by
+   * {@link Fr#toBytesLittleEndian(byte[])}.
+   */
+  public G2Point mul(final byte[] scalar) {
+    return mul(scalar, Fr.BITS);
   }
 
+  /** Same as {@link #mul(byte[])}, but for a little-endian scalar of {@code nbits} bits. */
+  public G2Point mul(final byte[] scalar, final int nbits) {
+    return new G2Point(getP2().dup().mult(scalar, nbits));
+  }
+
+  /**
+   * Multiplies the point in place by a little-endian scalar of {@code nbits} bits, so the
+   * underlying native point is mutated and no new point is created.
+   */
+  public void mulInPlace(final byte[] scalar, final int nbits) {
+    getP2().mult(scalar, nbits);
+    compressed = null;
+  }
+
+  public G2Point add(final G2Point other) {
+    return new G2Point(getP2().dup().add(other.getP2()));
+  }
+
+  /** Returns false as well if the compressed form of the point is not a valid point. */
   public boolean isInPrimeSubgroup() {
-    return p2.in_group();
+    final P2 point;
+    try {
+      point = getP2();
+    } catch (final IllegalArgumentException ex) {
+      LOG.warn("Subgroup check failed, the point can't be decompressed: {}", ex.getMessage());
+      return false;
+    }
+    return point.in_group();
   }
 
   @Override
@@ -43,11 +163,35 @@ public class G2Point {
     if (this == o) return true;
     if (o == null || getClass() != o.getClass()) return false;
     final G2Point g2Point = (G2Point) o;
-    return Objects.equals(toBytesCompressed(), g2Point.toBytesCompressed());
+    return Arrays.equals(getCompressed(), g2Point.getCompressed());
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(toBytesCompressed());
+    return Arrays.hashCode(getCompressed());
+  }
+
+  private static class AffineG2Points implements AffinePoints<G2Point> {
+
+    private final P2_Affine[] points;
+
+    private AffineG2Points(final P2_Affine[] points) {
+      this.points = points;
+    }
+
+    @Override
+    public int size() {
+      return points.length;
+    }
+
+    @Override
+    public AffinePoints<G2Point> slice(final int from, final int to) {
+      return new AffineG2Points(Arrays.copyOfRange(points, from, to));
+    }
+
+    @Override
+    public G2Point linearCombination(final byte[] scalars, final int nbits) {
+      return new G2Point(P2_Affines.mult_pippenger(points, scalars, nbits));
+    }
   }
 }
@@ -0,0 +1,39 @@
+package chotto.objects;
+
+import java.util.List;
+import supranational.blst.PT;
+
+public class Pairings {
+
+  private Pairings() {}
+
+  /**
+   * Checks e(a1, a2) = e(b1, b2). Only the Miller loops are computed separately and both sides
+   * share a single final exponentiation.
+   */
+  public static boolean pairingsEqual(
+      final G1Point a1, final G2Point a2, final G1Point b1, final G2Point b2) {
+    return PT.finalverify(
+        new PT(a1.getP1().to_affine(), a2.getP2().to_affine()),
+        new PT(b1.getP1().to_affine(), b2.getP2().to_affine()));
+  }
+
+  /**
+   * Checks e(a1, a2) = e(b1[0], b2[0]) * ... * e(b1[n - 1], b2[n - 1]). The Miller loops of the
+   * product are multiplied together, so all pairings share a single final exponentiation.
+   */
+  public static boolean pairingEqualsProduct(
+      final G1Point a1, final G2Point a2, final List<G1Point> b1, final List<G2Point> b2) {
+    if (b1.size() != b2.size() || b1.isEmpty()) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Expected the same non-zero number of points but got %d and %d",
+              b1.size(), b2.size()));
+    }
+    final PT product = new PT(b1.get(0).getP1().to_affine(), b2.get(0).getP2().to_affine());
+    for (int i = 1; i < b1.size(); i++) {
+      product.mul(new PT(b1.get(i).getP1().to_affine(), b2.get(i).getP2().to_affine()));
+    }
+    return PT.finalverify(new PT(a1.getP1().to_affine(), a2.getP2().to_affine()), product);
+  }
+}
@@ -0,0 +1,210 @@
+package chotto.objects;
+
+import java.nio.ByteBuffer;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Function;
+
+/**
+ * Read-only list of points stored compressed and back to back in direct (or wrapped) buffers, so
+ * that the points don't cost an object each on the heap. Every {@link #get(int)} decodes a new lazy
+ * point. Only columns of BLS signatures can hold nulls, which are stored as zero bytes.
+ */
+public class PointColumn<T> extends AbstractList<T> implements RandomAccess {
+
+  static final int SEGMENT_SIZE = 4096;
+
+  public static PointColumn<G1Point> forG1() {
+    return new PointColumn<>(
+        G1Point.class, G1Point.COMPRESSED_SIZE, false, G1Point::fromBytes, G1Point::getCompressed);
+  }
+
+  public static PointColumn<G2Point> forG2() {
+    return new PointColumn<>(
+        G2Point.class, G2Point.COMPRESSED_SIZE, false, G2Point::fromBytes, G2Point::getCompressed);
+  }
+
+  public static PointColumn<BlsSignature> forBlsSignatures() {
+    return new PointColumn<>(
+        BlsSignature.class,
+        BlsSignature.COMPRESSED_SIZE,
+        true,
+        BlsSignature::fromBytes,
+        blsSignature -> blsSignature.toBytesCompressed().toArrayUnsafe());
+  }
+
+  /** Returns a read-only column over the compressed G1 points in the buffer. */
+  public static PointColumn<G1Point> forG1(final ByteBuffer compressedPoints) {
+    return forG1().wrap(compressedPoints);
+  }
+
+  /** Returns a read-only column over the compressed G2 points in the buffer. */
+  public static PointColumn<G2Point> forG2(final ByteBuffer compressedPoints) {
+    return forG2().wrap(compressedPoints);
+  }
+
+  /** Returns a read-only column over the compressed BLS signatures in the buffer. */
+  public static PointColumn<BlsSignature> forBlsSignatures(final ByteBuffer compressedPoints) {
+    return forBlsSignatures().wrap(compressedPoints);
+  }
+
+  private final Class<T> pointClass;
+  private final int width;
+  private final boolean nullable;
+  private final Function<byte[], T> decoder;
+  private final Function<T, byte[]> compressor;
+  private final List<ByteBuffer> segments = new ArrayList<>();
+
+  private int size = 0;
+
+  private PointColumn(
+      final Class<T> pointClass,
+      final int width,
+      final boolean nullable,
+      final Function<byte[], T> decoder,
+      final Function<T, byte[]> compressor) {
+    this.pointClass = pointClass;
+    this.width = width;
+    this.nullable = nullable;
+    this.decoder = decoder;
+    this.compressor = compressor;
+  }
+
+  /**
+   * Appends the serialized form of a point (uncompressed points are compressed first) or null for a
+   * null point. This is not thread-safe and the column should only be read once all points are
+   * appended.
+   */
+  public void append(final byte[] bytes) {
+    final byte[] compressed;
+    if (bytes == null) {
+      if (!nullable) {
+        throw new IllegalArgumentException("Null points are not allowed in this column");
+      }
+      compressed = new byte[width];
+    } else if (bytes.length == width) {
+      compressed = bytes;
+    } else if (bytes.length == 2 * width) {
+      compressed = compressor.apply(decoder.apply(bytes));
+    } else {
+      throw new IllegalArgumentException(
+          String.format("Expected %d or %d bytes but got %d", width, 2 * width, bytes.length));
+    }
+    if (size % SEGMENT_SIZE == 0) {
+      segments.add(ByteBuffer.allocateDirect(SEGMENT_SIZE * width));
+    }
+    segments.get(segments.size() - 1).put(compressed);
+    size++;
+  }
+
+  private PointColumn<T> wrap(final ByteBuffer compressedPoints) {
+    if (compressedPoints.remaining() % width != 0) {
+      throw new IllegalArgumentException(
+          String.format(
+              "The buffer size %d is not a multiple of %d", compressedPoints.remaining(), width));
+    }
+    final ByteBuffer buffer = compressedPoints.asReadOnlyBuffer();
+    final int segmentBytes = SEGMENT_SIZE * width;
+    for (int start = buffer.position(); start < buffer.limit(); start += segmentBytes) {
+      final ByteBuffer segment = buffer.duplicate();
+      segment.position(start).limit(Math.min(start + segmentBytes, buffer.limit()));
+      segments.add(segment.slice());
+    }
+    size = compressedPoints.remaining() / width;
+    return this;
+  }
+
+  @Override
+  public T get(final int index) {
+    final byte[] compressed = getCompressed(index);
+    if (nullable && isZero(compressed)) {
+      return null;
+    }
+    // zeros in a column without nulls decode to an invalid point, which fails the point checks
+    return decoder.apply(compressed);
+  }
+
+  /** Returns a copy of the compressed form of the point at the given index. */
+  public byte[] getCompressed(final int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+    final ByteBuffer segment = segments.get(index / SEGMENT_SIZE);
+    final int offset = (index % SEGMENT_SIZE) * width;
+    final byte[] compressed = new byte[width];
+    for (int i = 0; i < width; i++) {
+      compressed[i] = segment.get(offset + i);
+    }
+    return compressed;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public int indexOf(final Object o) {
+    final byte[] compressed = compressedFormOf(o);
+    if (compressed == null) {
+      return -1;
+    }
+    for (int index = 0; index < size; index++) {
+      if (entryEquals(index, compressed)) {
+        return index;
+      }
+    }
+    return -1;
+  }
+
+  @Override
+  public int lastIndexOf(final Object o) {
+    final byte[] compressed = compressedFormOf(o);
+    if (compressed == null) {
+      return -1;
+    }
+    for (int index = size - 1; index >= 0; index--) {
+      if (entryEquals(index, compressed)) {
+        return index;
+      }
+    }
+    return -1;
+  }
+
+  @Override
+  public boolean contains(final Object o) {
+    return indexOf(o) >= 0;
+  }
+
+  private byte[] compressedFormOf(final Object o) {
+    if (o == null) {
+      return nullable ? new byte[width] : null;
+    }
+    if (!pointClass.isInstance(o)) {
+      return null;
+    }
+    return compressor.apply(pointClass.cast(o));
+  }
+
+  private static boolean isZero(final byte[] compressed) {
+    for (final byte b : compressed) {
+      if (b != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private boolean entryEquals(final int index, final byte[] compressed) {
+    final ByteBuffer segment = segments.get(index / SEGMENT_SIZE);
+    final int offset = (index % SEGMENT_SIZE) * width;
+    for (int i = 0; i < width; i++) {
+      if (segment.get(offset + i) != compressed[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
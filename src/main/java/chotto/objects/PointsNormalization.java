@@ -0,0 +1,61 @@
+package chotto.objects;
+
+import chotto.parallel.ChunkedTasks;
+import java.util.concurrent.ForkJoinPool;
+import supranational.blst.P1;
+import supranational.blst.P1_Affine;
+import supranational.blst.P1s;
+import supranational.blst.P2;
+import supranational.blst.P2_Affine;
+import supranational.blst.P2s;
+
+/**
+ * Converts arrays of points to affine form in parallel chunks, with one field inversion per chunk,
+ * and caches their compressed encoding on each point.
+ */
+public class PointsNormalization {
+
+  static final int CHUNK_SIZE = 1024;
+
+  private PointsNormalization() {}
+
+  public static void normalizeAndCompress(
+      final PowersOfTau powersOfTau, final ForkJoinPool forkJoinPool) {
+    normalizeAndCompress(powersOfTau.getG1Powers(), forkJoinPool);
+    normalizeAndCompress(powersOfTau.getG2Powers(), forkJoinPool);
+  }
+
+  public static void normalizeAndCompress(final G1Point[] points, final ForkJoinPool forkJoinPool) {
+    ChunkedTasks.runInChunks(
+        forkJoinPool,
+        points.length,
+        CHUNK_SIZE,
+        (start, end) -> {
+          final P1[] chunk = new P1[end - start];
+          for (int i = start; i < end; i++) {
+            chunk[i - start] = points[i].getP1();
+          }
+          final P1_Affine[] affinePoints = P1s.to_affine(chunk);
+          for (int i = start; i < end; i++) {
+            points[i].setCompressed(affinePoints[i - start].compress());
+          }
+        });
+  }
+
+  public static void normalizeAndCompress(final G2Point[] points, final ForkJoinPool forkJoinPool) {
+    ChunkedTasks.runInChunks(
+        forkJoinPool,
+        points.length,
+        CHUNK_SIZE,
+        (start, end) -> {
+          final P2[] chunk = new P2[end - start];
+          for (int i = start; i < end; i++) {
+            chunk[i - start] = points[i].getP2();
+          }
+          final P2_Affine[] affinePoints = P2s.to_affine(chunk);
+          for (int i = start; i < end; i++) {
+            points[i].setCompressed(affinePoints[i - start].compress());
+          }
+        });
+  }
+}
@@ -48,6 +48,10 @@ public class Secret {
     return UInt256.fromBytes(toBytes());
   }
 
+  public Fr toFr() {
+    return Fr.fromBytesBigEndian(secretKey.to_bendian());
+  }
+
   @Override
   public boolean equals(final Object o) {
     if (this == o) return true;
@@ -0,0 +1,46 @@
+package chotto.objects;
+
+import java.util.Arrays;
+
+/**
+ * The powers secret^0..secret^(n-1) of a secret, stored back to back in a single byte array as
+ * little-endian scalars ready to be passed to blst. The table should be wiped as soon as it is no
+ * longer needed.
+ */
+public class SecretPowers {
+
+  public static SecretPowers compute(final Fr secret, final int numPowers) {
+    final byte[] table = new byte[numPowers * Fr.BYTES];
+    final Fr power = Fr.one();
+    final byte[] scalar = new byte[Fr.BYTES];
+    for (int i = 0; i < numPowers; i++) {
+      power.toBytesLittleEndian(scalar);
+      System.arraycopy(scalar, 0, table, i * Fr.BYTES, Fr.BYTES);
+      power.mulAssign(secret);
+    }
+    power.wipe();
+    Arrays.fill(scalar, (byte) 0);
+    return new SecretPowers(table, numPowers);
+  }
+
+  private final byte[] table;
+  private final int numPowers;
+
+  private SecretPowers(final byte[] table, final int numPowers) {
+    this.table = table;
+    this.numPowers = numPowers;
+  }
+
+  public int getNumPowers() {
+    return numPowers;
+  }
+
+  /** Copies secret^index as a little-endian scalar into {@code dst}. */
+  public void copyPower(final int index, final byte[] dst) {
+    System.arraycopy(table, index * Fr.BYTES, dst, 0, Fr.BYTES);
+  }
+
+  public void wipe() {
+    Arrays.fill(table, (byte) 0);
+  }
+}
@@ -0,0 +1,126 @@
+package chotto.objects;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * Read-only list of strings stored as interned UTF-8 values in a direct buffer, with an int id per
+ * element on the heap. Every access creates a new String and nulls are not supported.
+ */
+public class StringColumn extends AbstractList<String> implements RandomAccess {
+
+  private static final int INITIAL_CAPACITY = 1024;
+
+  // the UTF-8 bytes of every distinct value, back to back
+  private ByteBuffer values = ByteBuffer.allocateDirect(64 * INITIAL_CAPACITY);
+  private int[] valueOffsets = new int[INITIAL_CAPACITY];
+  private int[] valueLengths = new int[INITIAL_CAPACITY];
+  private int[] valueHashes = new int[INITIAL_CAPACITY];
+  private int numberOfValues = 0;
+
+  // open addressing table from the hash of a value to its id, with -1 for empty slots
+  private int[] idsTable = newIdsTable(2 * INITIAL_CAPACITY);
+
+  private int[] ids = new int[INITIAL_CAPACITY];
+  private int size = 0;
+
+  /**
+   * Appends a value. This is not thread-safe and the column should only be read once all values are
+   * appended.
+   */
+  public void append(final String value) {
+    if (size == ids.length) {
+      ids = Arrays.copyOf(ids, 2 * ids.length);
+    }
+    ids[size++] = intern(value);
+  }
+
+  @Override
+  public String get(final int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+    return new String(getValueBytes(ids[index]), StandardCharsets.UTF_8);
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  /** Returns the number of distinct values in the column. */
+  public int getNumberOfDistinctValues() {
+    return numberOfValues;
+  }
+
+  private int intern(final String value) {
+    final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    final int hash = Arrays.hashCode(bytes);
+    final int mask = idsTable.length - 1;
+    int slot = hash & mask;
+    while (idsTable[slot] != -1) {
+      final int id = idsTable[slot];
+      if (valueHashes[id] == hash && Arrays.equals(getValueBytes(id), bytes)) {
+        return id;
+      }
+      slot = (slot + 1) & mask;
+    }
+    final int id = addValue(bytes, hash);
+    idsTable[slot] = id;
+    if (2 * numberOfValues > idsTable.length) {
+      rehash();
+    }
+    return id;
+  }
+
+  private int addValue(final byte[] bytes, final int hash) {
+    if (numberOfValues == valueOffsets.length) {
+      valueOffsets = Arrays.copyOf(valueOffsets, 2 * numberOfValues);
+      valueLengths = Arrays.copyOf(valueLengths, 2 * numberOfValues);
+      valueHashes = Arrays.copyOf(valueHashes, 2 * numberOfValues);
+    }
+    if (values.remaining() < bytes.length) {
+      final int capacity = Math.max(2 * values.capacity(), values.position() + bytes.length);
+      final ByteBuffer grownValues = ByteBuffer.allocateDirect(capacity);
+      values.flip();
+      grownValues.put(values);
+      values = grownValues;
+    }
+    final int id = numberOfValues++;
+    valueOffsets[id] = values.position();
+    valueLengths[id] = bytes.length;
+    valueHashes[id] = hash;
+    values.put(bytes);
+    return id;
+  }
+
+  private void rehash() {
+    idsTable = newIdsTable(2 * idsTable.length);
+    final int mask = idsTable.length - 1;
+    for (int id = 0; id < numberOfValues; id++) {
+      int slot = valueHashes[id] & mask;
+      while (idsTable[slot] != -1) {
+        slot = (slot + 1) & mask;
+      }
+      idsTable[slot] = id;
+    }
+  }
+
+  private byte[] getValueBytes(final int id) {
+    final byte[] bytes = new byte[valueLengths[id]];
+    final int offset = valueOffsets[id];
+    for (int i = 0; i < bytes.length; i++) {
+      bytes[i] = values.get(offset + i);
+    }
+    return bytes;
+  }
+
+  private static int[] newIdsTable(final int capacity) {
+    final int[] table = new int[capacity];
+    Arrays.fill(table, -1);
+    return table;
+  }
+}
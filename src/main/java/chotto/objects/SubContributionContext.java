@@ -8,14 +8,24 @@ public class SubContributionContext {
   private final Secret secret;
   private final Optional<BlsSignature> blsSignatureMaybe;
   private final G2Point potPubkey;
+  private final Optional<SecretPowers> secretPowersMaybe;
 
   public SubContributionContext(
       final Secret secret,
       final Optional<BlsSignature> blsSignatureMaybe,
       final G2Point potPubkey) {
+    this(secret, blsSignatureMaybe, potPubkey, Optional.empty());
+  }
+
+  public SubContributionContext(
+      final Secret secret,
+      final Optional<BlsSignature> blsSignatureMaybe,
+      final G2Point potPubkey,
+      final Optional<SecretPowers> secretPowersMaybe) {
     this.secret = secret;
     this.blsSignatureMaybe = blsSignatureMaybe;
     this.potPubkey = potPubkey;
+    this.secretPowersMaybe = secretPowersMaybe;
   }
 
   public Secret getSecret() {
@@ -30,6 +40,10 @@ public class SubContributionContext {
     return potPubkey;
   }
 
+  public Optional<SecretPowers> getSecretPowersMaybe() {
+    return secretPowersMaybe;
+  }
+
   @Override
   public boolean equals(final Object o) {
     if (this == o) {
@@ -1,7 +1,9 @@
 package chotto.objects;
 
+import chotto.serialization.NumG1PowersDeserializer;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 
 public class Transcript {
 
@@ -12,7 +14,8 @@ public class Transcript {
 
   @JsonCreator
   public Transcript(
-      @JsonProperty("numG1Powers") final int numG1Powers,
+      @JsonProperty("numG1Powers") @JsonDeserialize(using = NumG1PowersDeserializer.class)
+          final int numG1Powers,
       @JsonProperty("numG2Powers") final int numG2Powers,
       @JsonProperty("powersOfTau") final PowersOfTau powersOfTau,
       @JsonProperty("witness") final Witness witness) {
@@ -0,0 +1,21 @@
+package chotto.objects;
+
+/** The number of powers of a sub-ceremony, without its points. */
+public class TranscriptParameters {
+
+  private final int numG1Powers;
+  private final int numG2Powers;
+
+  public TranscriptParameters(final int numG1Powers, final int numG2Powers) {
+    this.numG1Powers = numG1Powers;
+    this.numG2Powers = numG2Powers;
+  }
+
+  public int getNumG1Powers() {
+    return numG1Powers;
+  }
+
+  public int getNumG2Powers() {
+    return numG2Powers;
+  }
+}
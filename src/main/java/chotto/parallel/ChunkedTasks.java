@@ -0,0 +1,84 @@
+package chotto.parallel;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntPredicate;
+
+public class ChunkedTasks {
+
+  private ChunkedTasks() {}
+
+  /**
+   * Splits the range [0, size) in chunks of at most {@code chunkSize} elements and runs the action
+   * for each chunk on the given {@link ForkJoinPool}. Blocks until all chunks are done.
+   */
+  public static void runInChunks(
+      final ForkJoinPool forkJoinPool,
+      final int size,
+      final int chunkSize,
+      final ChunkAction chunkAction) {
+    forkJoinPool.invoke(new ChunkedAction(chunkAction, chunkSize, 0, size));
+  }
+
+  /**
+   * Tests the predicate for every index in [0, size) in chunks on the given {@link ForkJoinPool}.
+   * Once an index doesn't match, {@code mismatchFound} is set and all chunks still running stop
+   * early, so several checks sharing the same flag are cancelled together.
+   *
+   * @return true if all indices matched and no mismatch was found by another check sharing the flag
+   */
+  public static boolean allMatchInChunks(
+      final ForkJoinPool forkJoinPool,
+      final int size,
+      final int chunkSize,
+      final IntPredicate predicate,
+      final AtomicBoolean mismatchFound) {
+    forkJoinPool.invoke(
+        new ChunkedAction(
+            (start, end) -> {
+              for (int i = start; i < end && !mismatchFound.get(); i++) {
+                if (!predicate.test(i)) {
+                  mismatchFound.set(true);
+                }
+              }
+            },
+            chunkSize,
+            0,
+            size));
+    return !mismatchFound.get();
+  }
+
+  @FunctionalInterface
+  public interface ChunkAction {
+    void run(int start, int end);
+  }
+
+  private static class ChunkedAction extends RecursiveAction {
+
+    private final ChunkAction chunkAction;
+    private final int chunkSize;
+    private final int start;
+    private final int end;
+
+    private ChunkedAction(
+        final ChunkAction chunkAction, final int chunkSize, final int start, final int end) {
+      this.chunkAction = chunkAction;
+      this.chunkSize = chunkSize;
+      this.start = start;
+      this.end = end;
+    }
+
+    @Override
+    protected void compute() {
+      if (end - start <= chunkSize) {
+        chunkAction.run(start, end);
+        return;
+      }
+      final int middle = (start + end) >>> 1;
+      invokeAll(
+          new ChunkedAction(chunkAction, chunkSize, start, middle),
+          new ChunkedAction(chunkAction, chunkSize, middle, end));
+    }
+  }
+}
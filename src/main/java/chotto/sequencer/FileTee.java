@@ -0,0 +1,161 @@
+package chotto.sequencer;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Copies a request body into a file while it is written, replacing the target atomically on {@link
+ * #commit()}. A failure to write the copy never fails the request.
+ */
+class FileTee {
+
+  static final int BUFFER_SIZE = 1024 * 1024;
+
+  private final Path path;
+  private final Path temporaryPath;
+
+  private volatile CompletableFuture<Void> copyWritten = new CompletableFuture<>();
+
+  FileTee(final Path path) {
+    this.path = path;
+    this.temporaryPath = path.resolveSibling(path.getFileName() + ".tmp");
+  }
+
+  Path getPath() {
+    return path;
+  }
+
+  /**
+   * Returns a stream which writes to {@code out} and copies everything to the temporary file. Each
+   * call starts a new copy, in case the body is written again.
+   */
+  OutputStream wrap(final OutputStream out) {
+    final CompletableFuture<Void> copyWritten = new CompletableFuture<>();
+    this.copyWritten = copyWritten;
+    return new TeeOutputStream(out, openTemporaryFile(copyWritten), copyWritten);
+  }
+
+  /** Waits for the copy to be fully written and moves it to the target path. */
+  void commit() throws IOException {
+    try {
+      copyWritten.join();
+    } catch (final CompletionException ex) {
+      throw new IOException("Failed to write " + temporaryPath, ex.getCause());
+    }
+    Files.move(
+        temporaryPath, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+  }
+
+  /** Deletes the temporary file if it wasn't moved to the target path. */
+  void discard() {
+    try {
+      Files.deleteIfExists(temporaryPath);
+    } catch (final IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  private FileChannel openTemporaryFile(final CompletableFuture<Void> copyWritten) {
+    try {
+      return FileChannel.open(temporaryPath, CREATE, WRITE, TRUNCATE_EXISTING);
+    } catch (final IOException ex) {
+      copyWritten.completeExceptionally(ex);
+      return null;
+    }
+  }
+
+  private static class TeeOutputStream extends OutputStream {
+
+    private final OutputStream out;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final CompletableFuture<Void> copyWritten;
+
+    // set to null as soon as writing the copy fails
+    private FileChannel fileChannel;
+
+    private TeeOutputStream(
+        final OutputStream out,
+        final FileChannel fileChannel,
+        final CompletableFuture<Void> copyWritten) {
+      this.out = out;
+      this.fileChannel = fileChannel;
+      this.copyWritten = copyWritten;
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+      write(new byte[] {(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+      out.write(b, off, len);
+      int offset = off;
+      int remaining = len;
+      while (fileChannel != null && remaining > 0) {
+        final int length = Math.min(remaining, buffer.remaining());
+        buffer.put(b, offset, length);
+        offset += length;
+        remaining -= length;
+        if (!buffer.hasRemaining()) {
+          writeBuffer();
+        }
+      }
+    }
+
+    @Override
+    public void flush() throws IOException {
+      out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+      try {
+        out.close();
+      } finally {
+        if (fileChannel != null) {
+          writeBuffer();
+        }
+        if (fileChannel != null) {
+          closeFileChannel();
+        }
+        // does nothing if writing the copy has already failed
+        copyWritten.complete(null);
+      }
+    }
+
+    private void writeBuffer() {
+      buffer.flip();
+      try {
+        while (buffer.hasRemaining()) {
+          fileChannel.write(buffer);
+        }
+        buffer.clear();
+      } catch (final IOException ex) {
+        copyWritten.completeExceptionally(ex);
+        closeFileChannel();
+      }
+    }
+
+    private void closeFileChannel() {
+      try {
+        fileChannel.close();
+      } catch (final IOException ex) {
+        copyWritten.completeExceptionally(ex);
+      }
+      fileChannel = null;
+    }
+  }
+}
@@ -0,0 +1,185 @@
+package chotto.sequencer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.http.HttpRequest.BodyPublisher;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creates {@link BodyPublisher}s which serialize a value to json while the request body is sent,
+ * holding at most {@value #MAX_QUEUED_CHUNKS} chunks of {@value #CHUNK_SIZE} bytes in memory.
+ */
+class JsonBodyPublishers {
+
+  static final int CHUNK_SIZE = 64 * 1024;
+  static final int MAX_QUEUED_CHUNKS = 16;
+
+  private JsonBodyPublishers() {}
+
+  static BodyPublisher ofJson(final ObjectMapper objectMapper, final Object value) {
+    return ofJson(objectMapper, value, Optional.empty());
+  }
+
+  /**
+   * Same as {@link #ofJson(ObjectMapper, Object)}, but also writes a copy of the body with the
+   * {@link FileTee} if present.
+   */
+  static BodyPublisher ofJson(
+      final ObjectMapper objectMapper, final Object value, final Optional<FileTee> fileTeeMaybe) {
+    // the supplier is called again if the body has to be resent, so each call serializes anew
+    return BodyPublishers.ofInputStream(
+        () -> {
+          final ChunkPipe chunkPipe = new ChunkPipe(MAX_QUEUED_CHUNKS);
+          final Thread serializer =
+              new Thread(
+                  () -> serialize(objectMapper, value, chunkPipe, fileTeeMaybe),
+                  "json-body-serializer");
+          serializer.setDaemon(true);
+          serializer.start();
+          return chunkPipe.getInputStream();
+        });
+  }
+
+  private static void serialize(
+      final ObjectMapper objectMapper,
+      final Object value,
+      final ChunkPipe chunkPipe,
+      final Optional<FileTee> fileTeeMaybe) {
+    try {
+      final OutputStream pipeOutputStream = chunkPipe.getOutputStream();
+      try (final OutputStream outputStream =
+          new BufferedOutputStream(
+              fileTeeMaybe.map(fileTee -> fileTee.wrap(pipeOutputStream)).orElse(pipeOutputStream),
+              CHUNK_SIZE)) {
+        objectMapper.writeValue(outputStream, value);
+      }
+      // only signal the end once everything was written, so a failure is never taken for the end
+      chunkPipe.finish();
+    } catch (final Exception ex) {
+      chunkPipe.fail(ex);
+    }
+  }
+
+  /** A bounded queue of byte chunks with a writing and a reading end. */
+  private static class ChunkPipe {
+
+    private static final byte[] END = new byte[0];
+    private static final long OFFER_TIMEOUT_MS = 100;
+
+    private final BlockingQueue<byte[]> chunks;
+    private volatile Exception failure;
+    private volatile boolean readerClosed = false;
+
+    private ChunkPipe(final int capacity) {
+      this.chunks = new ArrayBlockingQueue<>(capacity);
+    }
+
+    private void put(final byte[] chunk) throws IOException {
+      try {
+        do {
+          if (readerClosed) {
+            throw new IOException("The request body is no longer being read");
+          }
+        } while (!chunks.offer(chunk, OFFER_TIMEOUT_MS, TimeUnit.MILLISECONDS));
+      } catch (final InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException();
+      }
+    }
+
+    private void finish() throws IOException {
+      put(END);
+    }
+
+    private void fail(final Exception ex) {
+      failure = ex;
+      try {
+        put(END);
+      } catch (final IOException __) {
+        // the reader is gone, so there is no one to notify
+      }
+    }
+
+    private OutputStream getOutputStream() {
+      return new OutputStream() {
+
+        @Override
+        public void write(final int b) throws IOException {
+          put(new byte[] {(byte) b});
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+          if (len > 0) {
+            put(Arrays.copyOfRange(b, off, off + len));
+          }
+        }
+      };
+    }
+
+    private InputStream getInputStream() {
+      return new InputStream() {
+
+        private byte[] chunk = new byte[0];
+        private int position = 0;
+        private boolean ended = false;
+
+        @Override
+        public int read() throws IOException {
+          if (!nextChunkIfNeeded()) {
+            return -1;
+          }
+          return chunk[position++] & 0xFF;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+          if (len == 0) {
+            return 0;
+          }
+          if (!nextChunkIfNeeded()) {
+            return -1;
+          }
+          final int length = Math.min(len, chunk.length - position);
+          System.arraycopy(chunk, position, b, off, length);
+          position += length;
+          return length;
+        }
+
+        @Override
+        public void close() {
+          readerClosed = true;
+          chunks.clear();
+        }
+
+        private boolean nextChunkIfNeeded() throws IOException {
+          while (!ended && position == chunk.length) {
+            try {
+              chunk = chunks.take();
+            } catch (final InterruptedException ex) {
+              Thread.currentThread().interrupt();
+              throw new InterruptedIOException();
+            }
+            position = 0;
+            if (chunk == END) {
+              ended = true;
+            }
+          }
+          if (ended && failure != null) {
+            throw new IOException("Failed to serialize the request body", failure);
+          }
+          return !ended;
+        }
+      };
+    }
+  }
+}
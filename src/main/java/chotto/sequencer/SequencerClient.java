@@ -5,6 +5,7 @@ import static com.pivovarit.function.ThrowingSupplier.unchecked;
 import chotto.auth.Provider;
 import chotto.objects.BatchContribution;
 import chotto.objects.BatchTranscript;
+import chotto.objects.BatchTranscriptParameters;
 import chotto.objects.CeremonyStatus;
 import chotto.objects.Receipt;
 import chotto.objects.SequencerError;
@@ -12,9 +13,10 @@ import chotto.verification.ContributionVerification;
 import chotto.verification.TranscriptVerification;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.pivovarit.function.ThrowingSupplier;
 import io.javalin.http.ContentType;
+import java.io.BufferedInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
@@ -23,6 +25,8 @@ import java.net.http.HttpRequest.BodyPublishers;
 import java.net.http.HttpResponse;
 import java.net.http.HttpResponse.BodyHandler;
 import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,12 +40,14 @@ public class SequencerClient {
 
   private static final Logger LOG = LoggerFactory.getLogger(SequencerClient.class);
   private static final String AUTHORIZATION_HEADER = "Authorization";
+  private static final int MAX_SEQUENCER_ERROR_SIZE = 8192;
 
   private final HttpClient httpClient;
   private final URI sequencerEndpoint;
   private final ObjectMapper objectMapper;
   private final TranscriptVerification transcriptVerification;
   private final ContributionVerification contributionVerification;
+  private final Optional<TranscriptCache> transcriptCacheMaybe;
 
   public SequencerClient(
       final HttpClient httpClient,
@@ -49,11 +55,28 @@ public class SequencerClient {
       final ObjectMapper objectMapper,
       final TranscriptVerification transcriptVerification,
       final ContributionVerification contributionVerification) {
+    this(
+        httpClient,
+        sequencerEndpoint,
+        objectMapper,
+        transcriptVerification,
+        contributionVerification,
+        Optional.empty());
+  }
+
+  public SequencerClient(
+      final HttpClient httpClient,
+      final URI sequencerEndpoint,
+      final ObjectMapper objectMapper,
+      final TranscriptVerification transcriptVerification,
+      final ContributionVerification contributionVerification,
+      final Optional<TranscriptCache> transcriptCacheMaybe) {
     this.httpClient = httpClient;
     this.sequencerEndpoint = sequencerEndpoint;
     this.objectMapper = objectMapper;
     this.transcriptVerification = transcriptVerification;
     this.contributionVerification = contributionVerification;
+    this.transcriptCacheMaybe = transcriptCacheMaybe;
   }
 
   public CeremonyStatus getCeremonyStatus() {
@@ -70,39 +93,93 @@ public class SequencerClient {
   public BatchTranscript getTranscript(final boolean verifyTranscript) {
     LOG.info("Requesting ceremony transcript...");
 
-    final HttpRequest request = buildGetRequest("/info/current_state").build();
-    final HttpResponse<String> response = sendRequest(request, BodyHandlers.ofString());
+    final HttpRequest.Builder requestBuilder = buildGetRequest("/info/current_state");
+    final TranscriptCache.Download download = startTranscriptDownload(requestBuilder);
+    final HttpRequest request = requestBuilder.build();
+    // the transcript is parsed while it is downloaded instead of being buffered first
+    final HttpResponse<InputStream> response = sendRequest(request, BodyHandlers.ofInputStream());
 
-    if (response.statusCode() != 200) {
-      throwException(response, "Failed to get transcript");
-    }
+    try (download) {
+      final InputStream transcriptJson = download.open(response);
 
-    LOG.info("A transcript was received{}", verifyTranscript ? ". Verifying it." : "");
+      if (!isSuccessfulTranscriptResponse(response.statusCode())) {
+        throwException(
+            response.statusCode(), readBodyAsString(transcriptJson), "Failed to get transcript");
+      }
 
-    final String transcriptJson = response.body();
+      LOG.info("Receiving the transcript{}", verifyTranscript ? ". Verifying it." : "");
 
-    if (verifyTranscript) {
+      if (verifyTranscript) {
 
-      if (!transcriptVerification.schemaCheck(transcriptJson)) {
-        throw new IllegalStateException(
-            "The received transcript does not match the defined transcript json schema");
-      }
+        final Optional<BatchTranscript> batchTranscriptMaybe =
+            transcriptVerification.schemaCheckAndBind(transcriptJson);
 
-      LOG.info("Transcript passes schema check");
+        if (batchTranscriptMaybe.isEmpty()) {
+          download.discard();
+          throw new IllegalStateException(
+              "The received transcript does not match the defined transcript json schema");
+        }
 
-      final BatchTranscript batchTranscript =
-          unchecked(() -> objectMapper.readValue(transcriptJson, BatchTranscript.class)).get();
+        final BatchTranscript batchTranscript = batchTranscriptMaybe.get();
+
+        LOG.info("Transcript passes schema check");
+
+        if (!transcriptVerification.pointChecks(batchTranscript)) {
+          download.discard();
+          throw new IllegalStateException("The received transcript does not pass the point checks");
+        }
+
+        LOG.info("Transcript passes point checks");
 
-      if (!transcriptVerification.pointChecks(batchTranscript)) {
-        throw new IllegalStateException("The received transcript does not pass the point checks");
+        download.complete(batchTranscript);
+
+        return batchTranscript;
+      }
+
+      final Optional<BatchTranscript> binaryTranscriptMaybe = download.loadBinaryTranscript();
+      if (binaryTranscriptMaybe.isPresent()) {
+        return binaryTranscriptMaybe.get();
       }
 
-      LOG.info("Transcript passes point checks");
+      final BatchTranscript batchTranscript =
+          objectMapper.readValue(transcriptJson, BatchTranscript.class);
+
+      download.complete(batchTranscript);
 
       return batchTranscript;
+    } catch (final IOException ex) {
+      throw new SequencerClientException("Error when receiving response from " + request.uri(), ex);
     }
+  }
 
-    return unchecked(() -> objectMapper.readValue(transcriptJson, BatchTranscript.class)).get();
+  /**
+   * Reads only the number of powers of each sub-ceremony from the transcript. The response is
+   * parsed while it is received without binding the points and the transfer is aborted as soon as
+   * the sub-ceremonies have been read, which skips the participants at the end of the transcript.
+   * The cached transcript is read instead if it hasn't changed.
+   */
+  public BatchTranscriptParameters getTranscriptParameters() {
+    LOG.info("Requesting ceremony transcript parameters...");
+
+    final HttpRequest.Builder requestBuilder = buildGetRequest("/info/current_state");
+    final TranscriptCache.Download download = startTranscriptDownload(requestBuilder);
+    final HttpRequest request = requestBuilder.build();
+    final HttpResponse<InputStream> response = sendRequest(request, BodyHandlers.ofInputStream());
+
+    // closing the download before the response is fully read cancels the transfer and keeps what
+    // was received as a partial download
+    try (download) {
+      final InputStream transcriptJson = download.open(response);
+      if (!isSuccessfulTranscriptResponse(response.statusCode())) {
+        throwException(
+            response.statusCode(),
+            readBodyAsString(transcriptJson),
+            "Failed to get transcript parameters");
+      }
+      return objectMapper.readValue(transcriptJson, BatchTranscriptParameters.class);
+    } catch (final IOException ex) {
+      throw new SequencerClientException("Error when receiving response from " + request.uri(), ex);
+    }
   }
 
   public String getLoginLink(final Provider provider, final String redirectTo) {
@@ -132,68 +209,107 @@ public class SequencerClient {
             .header(AUTHORIZATION_HEADER, getBearer(sessionId))
             .build();
 
-    final HttpResponse<String> response = sendRequest(request, BodyHandlers.ofString());
-
-    if (response.statusCode() != 200) {
-      LOG.warn(createExceptionMessage(response, "Contribution is not available"));
-      return new TryContributeResponse(Optional.empty(), getMaybeSequencerError(response.body()));
-    }
+    // the contribution is parsed while it is received instead of being buffered first
+    final HttpResponse<InputStream> response = sendRequest(request, BodyHandlers.ofInputStream());
 
-    final String contributionJson = response.body();
-
-    final Optional<SequencerError> maybeSequencerError = getMaybeSequencerError(contributionJson);
+    try (final InputStream body = new BufferedInputStream(response.body())) {
+      if (response.statusCode() != 200) {
+        final String errorJson = readBodyAsString(body);
+        LOG.warn(
+            createExceptionMessage(
+                response.statusCode(), errorJson, "Contribution is not available"));
+        return new TryContributeResponse(Optional.empty(), getMaybeSequencerError(errorJson));
+      }
 
-    if (maybeSequencerError.isPresent()) {
-      final SequencerError sequencerError = maybeSequencerError.get();
-      if (sequencerError.getCode().contains(ANOTHER_CONTRIBUTION_IN_PROGRESS_ERROR)) {
-        LOG.info("Contribution is not available. Another contribution is in progress.");
-      } else {
-        LOG.info(createExceptionMessage(response, "Contribution is not available"));
+      // an error is small enough to be read entirely, while a contribution never is
+      body.mark(MAX_SEQUENCER_ERROR_SIZE);
+      final byte[] bodyStart = body.readNBytes(MAX_SEQUENCER_ERROR_SIZE);
+      final Optional<String> smallBodyMaybe =
+          bodyStart.length < MAX_SEQUENCER_ERROR_SIZE
+              ? Optional.of(new String(bodyStart, StandardCharsets.UTF_8))
+              : Optional.empty();
+      final Optional<SequencerError> maybeSequencerError =
+          smallBodyMaybe.flatMap(this::getMaybeSequencerError);
+      body.reset();
+
+      if (maybeSequencerError.isPresent()) {
+        final SequencerError sequencerError = maybeSequencerError.get();
+        if (sequencerError.getCode().contains(ANOTHER_CONTRIBUTION_IN_PROGRESS_ERROR)) {
+          LOG.info("Contribution is not available. Another contribution is in progress.");
+        } else {
+          LOG.info(
+              createExceptionMessage(
+                  response.statusCode(), smallBodyMaybe.get(), "Contribution is not available"));
+        }
+        return new TryContributeResponse(Optional.empty(), maybeSequencerError);
       }
-      return new TryContributeResponse(Optional.empty(), maybeSequencerError);
-    }
 
-    LOG.info("A contribution was received. Verifying it.");
+      LOG.info("A contribution was received. Verifying it.");
 
-    if (!contributionVerification.schemaCheck(contributionJson)) {
-      throw new IllegalStateException(
-          "The received contribution does not match the defined contribution json schema");
-    }
+      final BatchContribution batchContribution =
+          contributionVerification
+              .schemaCheckAndBind(body)
+              .orElseThrow(
+                  () ->
+                      new IllegalStateException(
+                          "The received contribution does not match the defined contribution json schema"));
 
-    LOG.info("Contribution passes schema check");
+      LOG.info("Contribution passes schema check");
 
-    final BatchContribution batchContribution =
-        unchecked(() -> objectMapper.readValue(contributionJson, BatchContribution.class)).get();
+      if (!contributionVerification.pointChecks(batchContribution)) {
+        throw new IllegalStateException("The received contribution does not pass the point checks");
+      }
+
+      LOG.info("Contribution passes point checks");
 
-    if (!contributionVerification.pointChecks(batchContribution)) {
-      throw new IllegalStateException("The received contribution does not pass the point checks");
+      return new TryContributeResponse(Optional.of(batchContribution), Optional.empty());
+    } catch (final IOException ex) {
+      throw new SequencerClientException("Error when receiving response from " + request.uri(), ex);
     }
+  }
 
-    LOG.info("Contribution passes point checks");
+  public Receipt contribute(final BatchContribution batchContribution, final String sessionId) {
+    return contribute(batchContribution, sessionId, Optional.empty());
+  }
 
-    return new TryContributeResponse(Optional.of(batchContribution), Optional.empty());
+  /**
+   * Same as {@link #contribute(BatchContribution, String)}, but also saves the uploaded json to
+   * {@code contributionPath} while it is being sent, so the contribution is serialized only once.
+   * The file is only created if the upload was successful.
+   */
+  public Receipt contribute(
+      final BatchContribution batchContribution,
+      final String sessionId,
+      final Path contributionPath) {
+    return contribute(batchContribution, sessionId, Optional.of(new FileTee(contributionPath)));
   }
 
-  public Receipt contribute(final BatchContribution batchContribution, final String sessionId) {
+  private Receipt contribute(
+      final BatchContribution batchContribution,
+      final String sessionId,
+      final Optional<FileTee> fileTeeMaybe) {
 
     final HttpRequest request =
         buildPostRequest(
                 "/contribute",
-                BodyPublishers.ofByteArray(
-                    ThrowingSupplier.unchecked(
-                            () -> objectMapper.writeValueAsBytes(batchContribution))
-                        .get()))
+                JsonBodyPublishers.ofJson(objectMapper, batchContribution, fileTeeMaybe))
             .header(AUTHORIZATION_HEADER, getBearer(sessionId))
             .header("Content-Type", ContentType.JSON)
             .build();
 
-    final HttpResponse<String> response = sendRequest(request, BodyHandlers.ofString());
+    try {
+      final HttpResponse<String> response = sendRequest(request, BodyHandlers.ofString());
 
-    if (response.statusCode() != 200) {
-      throwException(response, "Failed to upload contribution");
-    }
+      if (response.statusCode() != 200) {
+        throwException(response, "Failed to upload contribution");
+      }
+
+      fileTeeMaybe.ifPresent(this::saveContribution);
 
-    return unchecked(() -> objectMapper.readValue(response.body(), Receipt.class)).get();
+      return unchecked(() -> objectMapper.readValue(response.body(), Receipt.class)).get();
+    } finally {
+      fileTeeMaybe.ifPresent(this::discardContribution);
+    }
   }
 
   public void abortContribution(final String sessionId) {
@@ -212,6 +328,35 @@ public class SequencerClient {
     LOG.info("Aborted contribution");
   }
 
+  private void saveContribution(final FileTee fileTee) {
+    try {
+      fileTee.commit();
+      LOG.info("Saved contribution to {}", fileTee.getPath());
+    } catch (final Exception ex) {
+      LOG.error("Couldn't save contribution to {}", fileTee.getPath(), ex);
+    }
+  }
+
+  private void discardContribution(final FileTee fileTee) {
+    try {
+      fileTee.discard();
+    } catch (final Exception ex) {
+      LOG.debug("Couldn't delete the temporary copy of {}", fileTee.getPath(), ex);
+    }
+  }
+
+  private TranscriptCache.Download startTranscriptDownload(
+      final HttpRequest.Builder requestBuilder) {
+    return transcriptCacheMaybe
+        .map(transcriptCache -> transcriptCache.startDownload(requestBuilder))
+        .orElseGet(TranscriptCache::uncached);
+  }
+
+  private boolean isSuccessfulTranscriptResponse(final int statusCode) {
+    // partial content and not modified are only received when using the transcript cache
+    return statusCode == 200 || statusCode == 206 || statusCode == 304;
+  }
+
   private HttpRequest.Builder buildGetRequest(final String path) {
     return buildRequest(path, "GET", BodyPublishers.noBody());
   }
@@ -240,18 +385,31 @@ public class SequencerClient {
   }
 
   private void throwException(final HttpResponse<String> response, final String errorPrefix) {
-    throw new SequencerClientException(createExceptionMessage(response, errorPrefix));
+    throwException(response.statusCode(), response.body(), errorPrefix);
+  }
+
+  private void throwException(final int statusCode, final String body, final String errorPrefix) {
+    throw new SequencerClientException(createExceptionMessage(statusCode, body, errorPrefix));
   }
 
   private String createExceptionMessage(
       final HttpResponse<String> response, final String errorPrefix) {
+    return createExceptionMessage(response.statusCode(), response.body(), errorPrefix);
+  }
+
+  private String createExceptionMessage(
+      final int statusCode, final String body, final String errorPrefix) {
     final String failureMessage =
-        getFailureMessage(response).map(message -> ", message: " + message).orElse("");
-    return String.format("%s (status: %s%s)", errorPrefix, response.statusCode(), failureMessage);
+        getFailureMessage(body).map(message -> ", message: " + message).orElse("");
+    return String.format("%s (status: %s%s)", errorPrefix, statusCode, failureMessage);
+  }
+
+  private Optional<String> getFailureMessage(final String body) {
+    return Optional.ofNullable(body).filter(message -> !message.isBlank());
   }
 
-  private Optional<String> getFailureMessage(final HttpResponse<String> response) {
-    return Optional.ofNullable(response.body()).filter(body -> !body.isBlank());
+  private String readBodyAsString(final InputStream body) throws IOException {
+    return new String(body.readAllBytes(), StandardCharsets.UTF_8);
   }
 
   private Optional<SequencerError> getMaybeSequencerError(final String json) {
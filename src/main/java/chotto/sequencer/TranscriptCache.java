@@ -0,0 +1,425 @@
+package chotto.sequencer;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+
+import chotto.objects.BatchTranscript;
+import chotto.serialization.BinaryTranscript;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.SequenceInputStream;
+import java.io.Writer;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Optional;
+import java.util.Properties;
+import org.apache.tuweni.bytes.Bytes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Caches the transcript of the sequencer on disk. It is revalidated with its ETag and Last-Modified
+ * validators and an interrupted download is resumed with a Range request. A {@link
+ * BinaryTranscript} copy is loaded instead of the json when the transcript isn't verified.
+ */
+public class TranscriptCache {
+
+  private static final Logger LOG = LoggerFactory.getLogger(TranscriptCache.class);
+
+  static final String TRANSCRIPT_FILE = "transcript.json";
+  static final String PARTIAL_TRANSCRIPT_FILE = "transcript.json.part";
+  static final String BINARY_TRANSCRIPT_FILE = "transcript.bin";
+  static final String METADATA_FILE = "transcript.properties";
+
+  static final String ETAG_KEY = "etag";
+  static final String LAST_MODIFIED_KEY = "lastModified";
+  static final String SHA256_KEY = "sha256";
+  // the digest of the json transcript from which the binary transcript was converted
+  static final String BINARY_SHA256_KEY = "binarySha256";
+
+  private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+  /** A download which doesn't use any cache. */
+  static Download uncached() {
+    return new Download(null, Mode.NONE, new Properties(), 0);
+  }
+
+  private final Path directory;
+
+  public TranscriptCache(final Path directory) {
+    this.directory = directory;
+  }
+
+  /**
+   * Adds the headers for revalidating the cached transcript or for resuming a partial download to
+   * the request and returns a {@link Download} which handles the response.
+   */
+  Download startDownload(final HttpRequest.Builder requestBuilder) {
+    try {
+      final Properties metadata = loadMetadata();
+      final Optional<String> etagMaybe = Optional.ofNullable(metadata.getProperty(ETAG_KEY));
+      final Optional<String> lastModifiedMaybe =
+          Optional.ofNullable(metadata.getProperty(LAST_MODIFIED_KEY));
+      if (etagMaybe.isEmpty() && lastModifiedMaybe.isEmpty()) {
+        return new Download(this, Mode.FULL, metadata, 0);
+      }
+      final Path transcript = directory.resolve(TRANSCRIPT_FILE);
+      final Path partialTranscript = directory.resolve(PARTIAL_TRANSCRIPT_FILE);
+      if (Files.exists(transcript) && metadata.getProperty(SHA256_KEY) != null) {
+        etagMaybe.ifPresent(etag -> requestBuilder.header("If-None-Match", etag));
+        lastModifiedMaybe.ifPresent(
+            lastModified -> requestBuilder.header("If-Modified-Since", lastModified));
+        return new Download(this, Mode.REVALIDATE, metadata, 0);
+      }
+      if (Files.exists(partialTranscript) && Files.size(partialTranscript) > 0) {
+        final long offset = Files.size(partialTranscript);
+        requestBuilder.header("Range", "bytes=" + offset + "-");
+        requestBuilder.header("If-Range", etagMaybe.orElseGet(lastModifiedMaybe::get));
+        return new Download(this, Mode.RESUME, metadata, offset);
+      }
+    } catch (final IOException ex) {
+      LOG.warn("Couldn't read the cached transcript in {}", directory, ex);
+    }
+    clear();
+    return new Download(this, Mode.FULL, new Properties(), 0);
+  }
+
+  /** Deletes the cached transcript, the partial download and their metadata if they exist. */
+  void clear() {
+    try {
+      Files.deleteIfExists(directory.resolve(TRANSCRIPT_FILE));
+      Files.deleteIfExists(directory.resolve(BINARY_TRANSCRIPT_FILE));
+      Files.deleteIfExists(directory.resolve(PARTIAL_TRANSCRIPT_FILE));
+      Files.deleteIfExists(directory.resolve(METADATA_FILE));
+    } catch (final IOException ex) {
+      LOG.warn("Couldn't clear the cached transcript in {}", directory, ex);
+    }
+  }
+
+  private Properties loadMetadata() throws IOException {
+    final Properties metadata = new Properties();
+    final Path metadataFile = directory.resolve(METADATA_FILE);
+    if (Files.exists(metadataFile)) {
+      try (final Reader reader = Files.newBufferedReader(metadataFile)) {
+        metadata.load(reader);
+      }
+    }
+    return metadata;
+  }
+
+  private void storeMetadata(final Properties metadata) throws IOException {
+    Files.createDirectories(directory);
+    final Path metadataFile = directory.resolve(METADATA_FILE);
+    final Path tmpMetadataFile = directory.resolve(METADATA_FILE + ".tmp");
+    try (final Writer writer = Files.newBufferedWriter(tmpMetadataFile)) {
+      metadata.store(writer, "Cached sequencer transcript");
+    }
+    Files.move(tmpMetadataFile, metadataFile, ATOMIC_MOVE, REPLACE_EXISTING);
+  }
+
+  private static MessageDigest newSha256Digest() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (final NoSuchAlgorithmException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+
+  private enum Mode {
+    NONE,
+    FULL,
+    REVALIDATE,
+    RESUME
+  }
+
+  /**
+   * Handles the response of a transcript request. The stream returned by {@link
+   * #open(HttpResponse)} is not closed by closing it, so that the parser can't close it before the
+   * download is completed with {@link #complete(BatchTranscript)}. A transcript which fails its
+   * verification is discarded with {@link #discard()} instead. The download must always be closed
+   * with {@link #close()}, which keeps a partial download for resuming it later.
+   */
+  static class Download implements Closeable {
+
+    private final TranscriptCache cache;
+    private final Mode mode;
+    private final Properties metadata;
+    private final long resumeOffset;
+
+    private InputStream source;
+    private TeeInputStream tee;
+    private MessageDigest digest;
+    private boolean revalidated = false;
+    private boolean completed = false;
+    private boolean discarded = false;
+
+    private Download(
+        final TranscriptCache cache,
+        final Mode mode,
+        final Properties metadata,
+        final long resumeOffset) {
+      this.cache = cache;
+      this.mode = mode;
+      this.metadata = metadata;
+      this.resumeOffset = resumeOffset;
+    }
+
+    /**
+     * Returns the stream from which to read the transcript, which is either the cached transcript,
+     * the partial download followed by the rest of the response or the response itself. Responses
+     * which are not successful are returned as they are.
+     */
+    InputStream open(final HttpResponse<InputStream> response) throws IOException {
+      final int statusCode = response.statusCode();
+      if (mode == Mode.NONE || (statusCode != 200 && statusCode != 206 && statusCode != 304)) {
+        source = response.body();
+        return closeShield(source);
+      }
+      final Path partialTranscript = cache.directory.resolve(PARTIAL_TRANSCRIPT_FILE);
+      if (statusCode == 304) {
+        if (mode != Mode.REVALIDATE) {
+          throw new IOException("Received 304 for a transcript which is not cached");
+        }
+        response.body().close();
+        LOG.info("The transcript hasn't changed since it was cached. Reading it from disk.");
+        revalidated = true;
+        digest = newSha256Digest();
+        source =
+            new DigestInputStream(
+                Files.newInputStream(cache.directory.resolve(TRANSCRIPT_FILE)), digest);
+        return closeShield(source);
+      }
+      digest = newSha256Digest();
+      if (statusCode == 206) {
+        final String contentRange = response.headers().firstValue("Content-Range").orElse("");
+        if (mode != Mode.RESUME || !contentRange.startsWith("bytes " + resumeOffset + "-")) {
+          response.body().close();
+          cache.clear();
+          throw new IOException("Unexpected partial transcript response: " + contentRange);
+        }
+        LOG.info("Resuming the transcript download from byte {}", resumeOffset);
+        // the partial download is fully read before anything is appended to it
+        final InputStream partial = Files.newInputStream(partialTranscript);
+        tee = new TeeInputStream(response.body(), newPartialOutput(partialTranscript, true));
+        source = new DigestInputStream(new SequenceInputStream(partial, tee), digest);
+        return closeShield(source);
+      }
+      final Optional<String> etagMaybe = response.headers().firstValue("ETag");
+      final Optional<String> lastModifiedMaybe = response.headers().firstValue("Last-Modified");
+      if (etagMaybe.isEmpty() && lastModifiedMaybe.isEmpty()) {
+        LOG.debug("The transcript response has no validators, so it won't be cached");
+        cache.clear();
+        source = response.body();
+        return closeShield(source);
+      }
+      metadata.clear();
+      etagMaybe.ifPresent(etag -> metadata.setProperty(ETAG_KEY, etag));
+      lastModifiedMaybe.ifPresent(
+          lastModified -> metadata.setProperty(LAST_MODIFIED_KEY, lastModified));
+      Files.deleteIfExists(cache.directory.resolve(TRANSCRIPT_FILE));
+      Files.deleteIfExists(cache.directory.resolve(BINARY_TRANSCRIPT_FILE));
+      cache.storeMetadata(metadata);
+      tee = new TeeInputStream(response.body(), newPartialOutput(partialTranscript, false));
+      source = new DigestInputStream(tee, digest);
+      return closeShield(source);
+    }
+
+    /**
+     * Returns the cached binary transcript if the sequencer responded with 304, or empty if there
+     * is none or it can't be loaded, in which case it is deleted.
+     */
+    Optional<BatchTranscript> loadBinaryTranscript() {
+      if (!revalidated || !isBinaryTranscriptCurrent()) {
+        return Optional.empty();
+      }
+      final Path binaryTranscript = cache.directory.resolve(BINARY_TRANSCRIPT_FILE);
+      try {
+        final BatchTranscript batchTranscript = BinaryTranscript.load(binaryTranscript);
+        LOG.info("Loaded the cached transcript from {}", binaryTranscript);
+        return Optional.of(batchTranscript);
+      } catch (final IOException | RuntimeException ex) {
+        LOG.warn("Couldn't load {}. Reading the json transcript instead.", binaryTranscript, ex);
+        try {
+          Files.deleteIfExists(binaryTranscript);
+        } catch (final IOException deleteEx) {
+          LOG.debug("Couldn't delete {}", binaryTranscript, deleteEx);
+        }
+        return Optional.empty();
+      }
+    }
+
+    /**
+     * Reads the rest of the response and stores the downloaded transcript in the cache, together
+     * with its binary form. Should only be called once the transcript has been read successfully.
+     *
+     * @throws IOException if the transcript was read from a cached json which doesn't match its
+     *     digest, in which case the cache is cleared
+     */
+    void complete(final BatchTranscript batchTranscript) throws IOException {
+      completed = true;
+      if (revalidated) {
+        source.transferTo(OutputStream.nullOutputStream());
+        if (!metadata.getProperty(SHA256_KEY).equals(Bytes.wrap(digest.digest()).toHexString())) {
+          discarded = true;
+          throw new IOException("The cached transcript doesn't match its digest");
+        }
+      }
+      if (tee != null) {
+        source.transferTo(OutputStream.nullOutputStream());
+        tee.closeOutput();
+        Files.move(
+            cache.directory.resolve(PARTIAL_TRANSCRIPT_FILE),
+            cache.directory.resolve(TRANSCRIPT_FILE),
+            ATOMIC_MOVE,
+            REPLACE_EXISTING);
+        metadata.setProperty(SHA256_KEY, Bytes.wrap(digest.digest()).toHexString());
+        cache.storeMetadata(metadata);
+        LOG.info("Cached the transcript in {}", cache.directory);
+      } else if (!revalidated) {
+        return;
+      }
+      if (!isBinaryTranscriptCurrent()) {
+        writeBinaryTranscript(batchTranscript);
+      }
+    }
+
+    /**
+     * Marks the transcript as rejected, so that closing the download deletes it, or the cached
+     * transcript it was read from, instead of keeping it.
+     */
+    void discard() {
+      discarded = true;
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (source != null) {
+        source.close();
+      }
+      if (discarded) {
+        if (tee != null) {
+          tee.closeOutput();
+        }
+        if (cache != null) {
+          cache.clear();
+          LOG.info("Discarded the rejected transcript in {}", cache.directory);
+        }
+        return;
+      }
+      if (tee == null || completed) {
+        return;
+      }
+      tee.closeOutput();
+      if (tee.isEndOfStream()) {
+        // the whole transcript was received, but it wasn't accepted, so there is nothing to resume
+        cache.clear();
+      } else {
+        LOG.info("Kept the partial transcript download in {} for resuming it", cache.directory);
+      }
+    }
+
+    private boolean isBinaryTranscriptCurrent() {
+      final String sha256 = metadata.getProperty(SHA256_KEY);
+      return sha256 != null
+          && sha256.equals(metadata.getProperty(BINARY_SHA256_KEY))
+          && Files.exists(cache.directory.resolve(BINARY_TRANSCRIPT_FILE));
+    }
+
+    private void writeBinaryTranscript(final BatchTranscript batchTranscript) {
+      // the binary transcript is only an optimization, so failing to write it is not an error
+      try {
+        BinaryTranscript.write(batchTranscript, cache.directory.resolve(BINARY_TRANSCRIPT_FILE));
+        metadata.setProperty(BINARY_SHA256_KEY, metadata.getProperty(SHA256_KEY));
+        cache.storeMetadata(metadata);
+      } catch (final IOException | RuntimeException ex) {
+        LOG.warn("Couldn't store the binary transcript in {}", cache.directory, ex);
+      }
+    }
+
+    private OutputStream newPartialOutput(final Path partialTranscript, final boolean append)
+        throws IOException {
+      Files.createDirectories(cache.directory);
+      final OutputStream out =
+          append
+              ? Files.newOutputStream(partialTranscript, CREATE, APPEND)
+              : Files.newOutputStream(partialTranscript, CREATE, TRUNCATE_EXISTING);
+      return new BufferedOutputStream(out, WRITE_BUFFER_SIZE);
+    }
+
+    private static InputStream closeShield(final InputStream in) {
+      return new FilterInputStream(in) {
+        @Override
+        public void close() {
+          // closed by the download
+        }
+      };
+    }
+  }
+
+  /** Copies everything which is read to an output stream. */
+  private static class TeeInputStream extends FilterInputStream {
+
+    private final OutputStream out;
+    private boolean endOfStream = false;
+    private boolean outputClosed = false;
+
+    private TeeInputStream(final InputStream in, final OutputStream out) {
+      super(in);
+      this.out = out;
+    }
+
+    @Override
+    public int read() throws IOException {
+      final int b = super.read();
+      if (b == -1) {
+        endOfStream = true;
+      } else {
+        out.write(b);
+      }
+      return b;
+    }
+
+    @Override
+    public int read(final byte[] b, final int off, final int len) throws IOException {
+      final int read = super.read(b, off, len);
+      if (read == -1) {
+        endOfStream = true;
+      } else {
+        out.write(b, off, read);
+      }
+      return read;
+    }
+
+    @Override
+    public long skip(final long n) throws IOException {
+      // skipped bytes must be written as well
+      final byte[] buffer = new byte[(int) Math.min(n, 8192)];
+      final int read = read(buffer, 0, buffer.length);
+      return Math.max(read, 0);
+    }
+
+    private boolean isEndOfStream() {
+      return endOfStream;
+    }
+
+    private void closeOutput() throws IOException {
+      if (!outputClosed) {
+        outputClosed = true;
+        out.close();
+      }
+    }
+  }
+}
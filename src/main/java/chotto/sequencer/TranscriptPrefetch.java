@@ -0,0 +1,105 @@
+package chotto.sequencer;
+
+import chotto.objects.BatchTranscript;
+import chotto.objects.BatchTranscriptParameters;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Downloads (and optionally verifies) the transcript in the background while the user logs in, so
+ * that the lifecycle only blocks on it once it is needed. When the transcript isn't verified, only
+ * its parameters are prefetched, which is all that is needed for the ECDSA signature.
+ */
+public class TranscriptPrefetch {
+
+  private static final Logger LOG = LoggerFactory.getLogger(TranscriptPrefetch.class);
+
+  /**
+   * Starts the prefetch on a new daemon thread, so that it doesn't take a thread from the pool
+   * which decodes the points while the transcript is downloaded.
+   */
+  public static TranscriptPrefetch start(
+      final SequencerClient sequencerClient,
+      final boolean verifyTranscript,
+      final boolean prefetchTranscriptParameters) {
+    return start(
+        sequencerClient,
+        verifyTranscript,
+        prefetchTranscriptParameters,
+        runnable -> {
+          final Thread thread = new Thread(runnable, "transcript-prefetch");
+          thread.setDaemon(true);
+          thread.start();
+        });
+  }
+
+  public static TranscriptPrefetch start(
+      final SequencerClient sequencerClient,
+      final boolean verifyTranscript,
+      final boolean prefetchTranscriptParameters,
+      final Executor executor) {
+    if (verifyTranscript) {
+      final CompletableFuture<BatchTranscript> verifiedTranscript =
+          CompletableFuture.supplyAsync(() -> sequencerClient.getTranscript(true), executor);
+      verifiedTranscript.thenRun(() -> LOG.info("Prefetched and verified the transcript"));
+      final CompletableFuture<BatchTranscriptParameters> transcriptParameters =
+          verifiedTranscript.thenApply(BatchTranscriptParameters::fromBatchTranscript);
+      return new TranscriptPrefetch(
+          sequencerClient, Optional.of(verifiedTranscript), Optional.of(transcriptParameters));
+    }
+    if (prefetchTranscriptParameters) {
+      return new TranscriptPrefetch(
+          sequencerClient,
+          Optional.empty(),
+          Optional.of(
+              CompletableFuture.supplyAsync(sequencerClient::getTranscriptParameters, executor)));
+    }
+    return new TranscriptPrefetch(sequencerClient, Optional.empty(), Optional.empty());
+  }
+
+  private final SequencerClient sequencerClient;
+  private final Optional<CompletableFuture<BatchTranscript>> verifiedTranscriptMaybe;
+  private final Optional<CompletableFuture<BatchTranscriptParameters>> transcriptParametersMaybe;
+
+  private TranscriptPrefetch(
+      final SequencerClient sequencerClient,
+      final Optional<CompletableFuture<BatchTranscript>> verifiedTranscriptMaybe,
+      final Optional<CompletableFuture<BatchTranscriptParameters>> transcriptParametersMaybe) {
+    this.sequencerClient = sequencerClient;
+    this.verifiedTranscriptMaybe = verifiedTranscriptMaybe;
+    this.transcriptParametersMaybe = transcriptParametersMaybe;
+  }
+
+  /**
+   * Blocks until the transcript is verified if it was requested to be verified and rethrows the
+   * failure of the download or of the verification.
+   */
+  public Optional<BatchTranscript> getVerifiedTranscript() {
+    return verifiedTranscriptMaybe.map(TranscriptPrefetch::join);
+  }
+
+  /**
+   * Blocks until the prefetched parameters are received or requests them now if they weren't
+   * prefetched.
+   */
+  public BatchTranscriptParameters getTranscriptParameters() {
+    return transcriptParametersMaybe
+        .map(TranscriptPrefetch::join)
+        .orElseGet(sequencerClient::getTranscriptParameters);
+  }
+
+  private static <T> T join(final CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (final CompletionException ex) {
+      if (ex.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) ex.getCause();
+      }
+      throw ex;
+    }
+  }
+}
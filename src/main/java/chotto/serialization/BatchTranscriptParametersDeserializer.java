@@ -0,0 +1,84 @@
+package chotto.serialization;
+
+import chotto.objects.BatchTranscriptParameters;
+import chotto.objects.TranscriptParameters;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads only the number of powers of each sub-ceremony from a transcript. The powers and the
+ * witnesses are skipped without being bound and the rest of the input isn't read once the
+ * transcripts have been read, so that a streamed transcript can be aborted at that point.
+ */
+public class BatchTranscriptParametersDeserializer
+    extends JsonDeserializer<BatchTranscriptParameters> {
+
+  private static final String TRANSCRIPTS_FIELD = "transcripts";
+  private static final String NUM_G1_POWERS_FIELD = "numG1Powers";
+  private static final String NUM_G2_POWERS_FIELD = "numG2Powers";
+
+  @Override
+  public BatchTranscriptParameters deserialize(
+      final JsonParser p, final DeserializationContext ctxt) throws IOException {
+    if (p.currentToken() != JsonToken.START_OBJECT) {
+      return (BatchTranscriptParameters)
+          ctxt.handleUnexpectedToken(BatchTranscriptParameters.class, p);
+    }
+    while (p.nextToken() == JsonToken.FIELD_NAME) {
+      final String fieldName = p.getCurrentName();
+      p.nextToken();
+      if (TRANSCRIPTS_FIELD.equals(fieldName)) {
+        return new BatchTranscriptParameters(readTranscripts(p, ctxt));
+      }
+      p.skipChildren();
+    }
+    return ctxt.reportInputMismatch(
+        BatchTranscriptParameters.class, "Missing '%s' field", TRANSCRIPTS_FIELD);
+  }
+
+  private static List<TranscriptParameters> readTranscripts(
+      final JsonParser p, final DeserializationContext ctxt) throws IOException {
+    if (p.currentToken() != JsonToken.START_ARRAY) {
+      ctxt.handleUnexpectedToken(List.class, p);
+      return List.of();
+    }
+    final List<TranscriptParameters> transcripts = new ArrayList<>();
+    while (p.nextToken() != JsonToken.END_ARRAY) {
+      transcripts.add(readTranscript(p, ctxt));
+    }
+    return transcripts;
+  }
+
+  private static TranscriptParameters readTranscript(
+      final JsonParser p, final DeserializationContext ctxt) throws IOException {
+    if (p.currentToken() != JsonToken.START_OBJECT) {
+      return (TranscriptParameters) ctxt.handleUnexpectedToken(TranscriptParameters.class, p);
+    }
+    Integer numG1Powers = null;
+    Integer numG2Powers = null;
+    while (p.nextToken() == JsonToken.FIELD_NAME) {
+      final String fieldName = p.getCurrentName();
+      p.nextToken();
+      if (NUM_G1_POWERS_FIELD.equals(fieldName)) {
+        numG1Powers = p.getIntValue();
+      } else if (NUM_G2_POWERS_FIELD.equals(fieldName)) {
+        numG2Powers = p.getIntValue();
+      } else {
+        // skipping doesn't decode the hex strings of the points
+        p.skipChildren();
+      }
+    }
+    if (numG1Powers == null || numG2Powers == null) {
+      return ctxt.reportInputMismatch(
+          TranscriptParameters.class,
+          "Missing '%s' field",
+          numG1Powers == null ? NUM_G1_POWERS_FIELD : NUM_G2_POWERS_FIELD);
+    }
+    return new TranscriptParameters(numG1Powers, numG2Powers);
+  }
+}
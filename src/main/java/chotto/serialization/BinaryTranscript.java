@@ -0,0 +1,453 @@
+package chotto.serialization;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+import chotto.objects.BatchTranscript;
+import chotto.objects.BlsSignature;
+import chotto.objects.G1Point;
+import chotto.objects.G2Point;
+import chotto.objects.PointColumn;
+import chotto.objects.PowersOfTau;
+import chotto.objects.Transcript;
+import chotto.objects.Witness;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.function.Function;
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * Binary form of a {@link BatchTranscript} with raw compressed points, which is memory-mapped
+ * instead of parsed. All numbers are big-endian and a missing section stands for a null field.
+ *
+ * <pre>
+ * header       "CHOTTOTR", version, SHA-256 of the rest of the file, number of transcripts
+ * transcripts  numG1Powers, numG2Powers
+ * index        number of sections, then type, transcript (-1 for the batch), entries, offset
+ * sections     compressed points back to back (zeros for a missing signature), or strings as
+ *              (entries + 1) offsets into the UTF-8 bytes which follow them
+ * </pre>
+ */
+public class BinaryTranscript {
+
+  static final byte[] MAGIC = "CHOTTOTR".getBytes(StandardCharsets.US_ASCII);
+  static final int VERSION = 2;
+
+  private static final int DIGEST_OFFSET = MAGIC.length + Integer.BYTES;
+  private static final int DIGEST_SIZE = 32;
+
+  private static final int G1_POWERS_SECTION = 0;
+  private static final int G2_POWERS_SECTION = 1;
+  private static final int RUNNING_PRODUCTS_SECTION = 2;
+  private static final int POT_PUBKEYS_SECTION = 3;
+  private static final int BLS_SIGNATURES_SECTION = 4;
+  private static final int PARTICIPANT_IDS_SECTION = 5;
+  private static final int PARTICIPANT_ECDSA_SIGNATURES_SECTION = 6;
+
+  private static final int BATCH = -1;
+  private static final int INDEX_ENTRY_SIZE = 3 * Integer.BYTES + Long.BYTES;
+
+  private BinaryTranscript() {}
+
+  /** Converts a transcript in the json format of the sequencer to the binary format. */
+  public static void convert(
+      final ObjectMapper objectMapper, final Path jsonTranscript, final Path binaryTranscript)
+      throws IOException {
+    final BatchTranscript batchTranscript;
+    try (final InputStream json = Files.newInputStream(jsonTranscript)) {
+      batchTranscript = objectMapper.readValue(json, BatchTranscript.class);
+    }
+    write(batchTranscript, binaryTranscript);
+  }
+
+  /** Writes the transcript to a temporary file first, which is then moved to the given path. */
+  public static void write(final BatchTranscript batchTranscript, final Path path)
+      throws IOException {
+    final List<Transcript> transcripts = batchTranscript.getTranscripts();
+    final List<Section> sections = new ArrayList<>();
+    for (int i = 0; i < transcripts.size(); i++) {
+      final Transcript transcript = transcripts.get(i);
+      final PowersOfTau powersOfTau = transcript.getPowersOfTau();
+      if (powersOfTau != null) {
+        addPointsSection(
+            sections,
+            G1_POWERS_SECTION,
+            i,
+            asList(powersOfTau.getG1Powers()),
+            G1Point.COMPRESSED_SIZE,
+            G1Point::toBytesCompressed);
+        addPointsSection(
+            sections,
+            G2_POWERS_SECTION,
+            i,
+            asList(powersOfTau.getG2Powers()),
+            G2Point.COMPRESSED_SIZE,
+            G2Point::toBytesCompressed);
+      }
+      final Witness witness = transcript.getWitness();
+      if (witness != null) {
+        addPointsSection(
+            sections,
+            RUNNING_PRODUCTS_SECTION,
+            i,
+            witness.getRunningProducts(),
+            G1Point.COMPRESSED_SIZE,
+            G1Point::toBytesCompressed);
+        addPointsSection(
+            sections,
+            POT_PUBKEYS_SECTION,
+            i,
+            witness.getPotPubkeys(),
+            G2Point.COMPRESSED_SIZE,
+            G2Point::toBytesCompressed);
+        addPointsSection(
+            sections,
+            BLS_SIGNATURES_SECTION,
+            i,
+            witness.getBlsSignatures(),
+            BlsSignature.COMPRESSED_SIZE,
+            BlsSignature::toBytesCompressed);
+      }
+    }
+    addStringsSection(sections, PARTICIPANT_IDS_SECTION, batchTranscript.getParticipantIds());
+    addStringsSection(
+        sections,
+        PARTICIPANT_ECDSA_SIGNATURES_SECTION,
+        batchTranscript.getParticipantEcdsaSignatures());
+
+    long offset =
+        DIGEST_OFFSET
+            + DIGEST_SIZE
+            + Integer.BYTES
+            + 2L * Integer.BYTES * transcripts.size()
+            + Integer.BYTES
+            + (long) INDEX_ENTRY_SIZE * sections.size();
+    final Path tmpPath = path.resolveSibling(path.getFileName() + ".tmp");
+    final MessageDigest digest = newSha256Digest();
+    try (final OutputStream fileOut = new BufferedOutputStream(Files.newOutputStream(tmpPath))) {
+      fileOut.write(MAGIC);
+      fileOut.write(ByteBuffer.allocate(Integer.BYTES).putInt(VERSION).array());
+      // the digest is written once the rest of the file has been hashed
+      fileOut.write(new byte[DIGEST_SIZE]);
+      final DataOutputStream out = new DataOutputStream(new DigestOutputStream(fileOut, digest));
+      out.writeInt(transcripts.size());
+      for (final Transcript transcript : transcripts) {
+        out.writeInt(transcript.getNumG1Powers());
+        out.writeInt(transcript.getNumG2Powers());
+      }
+      out.writeInt(sections.size());
+      for (final Section section : sections) {
+        out.writeInt(section.type);
+        out.writeInt(section.transcript);
+        out.writeInt(section.entries);
+        out.writeLong(offset);
+        offset += section.size;
+      }
+      for (final Section section : sections) {
+        section.writer.write(out);
+      }
+      out.flush();
+    }
+    try (final FileChannel channel = FileChannel.open(tmpPath, StandardOpenOption.WRITE)) {
+      channel.write(ByteBuffer.wrap(digest.digest()), DIGEST_OFFSET);
+    }
+    Files.move(tmpPath, path, ATOMIC_MOVE, REPLACE_EXISTING);
+  }
+
+  /** Memory-maps the file and exposes it as a {@link BatchTranscript}. */
+  public static BatchTranscript load(final Path path) throws IOException {
+    final ByteBuffer buffer;
+    try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      if (channel.size() > Integer.MAX_VALUE) {
+        throw new IOException("The binary transcript " + path + " is too large to be mapped");
+      }
+      // the mapping stays valid after the channel is closed
+      buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+    final byte[] magic = new byte[MAGIC.length];
+    buffer.get(magic);
+    if (!Arrays.equals(magic, MAGIC)) {
+      throw new IOException(path + " is not a binary transcript");
+    }
+    final int version = buffer.getInt();
+    if (version != VERSION) {
+      throw new IOException("Unsupported binary transcript version " + version);
+    }
+    final byte[] expectedDigest = new byte[DIGEST_SIZE];
+    buffer.get(expectedDigest);
+    final MessageDigest digest = newSha256Digest();
+    digest.update(buffer.duplicate());
+    if (!MessageDigest.isEqual(expectedDigest, digest.digest())) {
+      throw new IOException("The binary transcript " + path + " doesn't match its digest");
+    }
+    final int numberOfTranscripts = buffer.getInt();
+    final int[] numG1Powers = new int[numberOfTranscripts];
+    final int[] numG2Powers = new int[numberOfTranscripts];
+    for (int i = 0; i < numberOfTranscripts; i++) {
+      numG1Powers[i] = buffer.getInt();
+      numG2Powers[i] = buffer.getInt();
+    }
+    final int numberOfSections = buffer.getInt();
+    final Map<List<Integer>, ByteBuffer> sections = new HashMap<>();
+    final Map<List<Integer>, Integer> sectionEntries = new HashMap<>();
+    for (int i = 0; i < numberOfSections; i++) {
+      final List<Integer> key = List.of(buffer.getInt(), buffer.getInt());
+      final int entries = buffer.getInt();
+      final long offset = buffer.getLong();
+      sections.put(key, slice(buffer, (int) offset));
+      sectionEntries.put(key, entries);
+    }
+
+    final List<Transcript> transcripts = new ArrayList<>(numberOfTranscripts);
+    for (int i = 0; i < numberOfTranscripts; i++) {
+      final ByteBuffer g1Powers = sections.get(List.of(G1_POWERS_SECTION, i));
+      final ByteBuffer g2Powers = sections.get(List.of(G2_POWERS_SECTION, i));
+      final PowersOfTau powersOfTau =
+          g1Powers == null && g2Powers == null
+              ? null
+              : new PowersOfTau(
+                  readPoints(
+                      g1Powers,
+                      sectionEntries.get(List.of(G1_POWERS_SECTION, i)),
+                      G1Point.COMPRESSED_SIZE,
+                      G1Point::fromBytes,
+                      G1Point[]::new),
+                  readPoints(
+                      g2Powers,
+                      sectionEntries.get(List.of(G2_POWERS_SECTION, i)),
+                      G2Point.COMPRESSED_SIZE,
+                      G2Point::fromBytes,
+                      G2Point[]::new));
+      final ByteBuffer runningProducts = sections.get(List.of(RUNNING_PRODUCTS_SECTION, i));
+      final ByteBuffer potPubkeys = sections.get(List.of(POT_PUBKEYS_SECTION, i));
+      final ByteBuffer blsSignatures = sections.get(List.of(BLS_SIGNATURES_SECTION, i));
+      final Witness witness =
+          runningProducts == null && potPubkeys == null && blsSignatures == null
+              ? null
+              : new Witness(
+                  runningProducts == null
+                      ? null
+                      : PointColumn.forG1(
+                          limit(
+                              runningProducts,
+                              sectionEntries.get(List.of(RUNNING_PRODUCTS_SECTION, i))
+                                  * G1Point.COMPRESSED_SIZE)),
+                  potPubkeys == null
+                      ? null
+                      : PointColumn.forG2(
+                          limit(
+                              potPubkeys,
+                              sectionEntries.get(List.of(POT_PUBKEYS_SECTION, i))
+                                  * G2Point.COMPRESSED_SIZE)),
+                  blsSignatures == null
+                      ? null
+                      : PointColumn.forBlsSignatures(
+                          limit(
+                              blsSignatures,
+                              sectionEntries.get(List.of(BLS_SIGNATURES_SECTION, i))
+                                  * BlsSignature.COMPRESSED_SIZE)));
+      transcripts.add(new Transcript(numG1Powers[i], numG2Powers[i], powersOfTau, witness));
+    }
+    return new BatchTranscript(
+        transcripts,
+        readStrings(sections, sectionEntries, PARTICIPANT_IDS_SECTION),
+        readStrings(sections, sectionEntries, PARTICIPANT_ECDSA_SIGNATURES_SECTION));
+  }
+
+  private static <T> void addPointsSection(
+      final List<Section> sections,
+      final int type,
+      final int transcript,
+      final List<T> points,
+      final int compressedSize,
+      final Function<T, Bytes> compressor) {
+    if (points == null) {
+      return;
+    }
+    final byte[] missingPoint = new byte[compressedSize];
+    final SectionWriter writer;
+    if (points instanceof PointColumn) {
+      // avoids decoding the points
+      final PointColumn<?> column = (PointColumn<?>) points;
+      writer =
+          out -> {
+            for (int i = 0; i < column.size(); i++) {
+              out.write(column.getCompressed(i));
+            }
+          };
+    } else {
+      writer =
+          out -> {
+            for (final T point : points) {
+              out.write(point == null ? missingPoint : compressor.apply(point).toArrayUnsafe());
+            }
+          };
+    }
+    sections.add(
+        new Section(
+            type, transcript, points.size(), (long) points.size() * compressedSize, writer));
+  }
+
+  private static void addStringsSection(
+      final List<Section> sections, final int type, final List<String> values) {
+    if (values == null) {
+      return;
+    }
+    final byte[][] encodedValues = new byte[values.size()][];
+    long dataSize = 0;
+    for (int i = 0; i < values.size(); i++) {
+      encodedValues[i] = values.get(i).getBytes(StandardCharsets.UTF_8);
+      dataSize += encodedValues[i].length;
+    }
+    sections.add(
+        new Section(
+            type,
+            BATCH,
+            values.size(),
+            (long) Integer.BYTES * (values.size() + 1) + dataSize,
+            out -> {
+              int offset = 0;
+              out.writeInt(offset);
+              for (final byte[] encodedValue : encodedValues) {
+                offset += encodedValue.length;
+                out.writeInt(offset);
+              }
+              for (final byte[] encodedValue : encodedValues) {
+                out.write(encodedValue);
+              }
+            }));
+  }
+
+  private static <T> T[] readPoints(
+      final ByteBuffer section,
+      final Integer entries,
+      final int compressedSize,
+      final Function<byte[], T> decoder,
+      final Function<Integer, T[]> arrayConstructor) {
+    if (section == null) {
+      return null;
+    }
+    final T[] points = arrayConstructor.apply(entries);
+    for (int i = 0; i < entries; i++) {
+      final byte[] compressed = new byte[compressedSize];
+      section.get(compressed);
+      points[i] = decoder.apply(compressed);
+    }
+    return points;
+  }
+
+  private static List<String> readStrings(
+      final Map<List<Integer>, ByteBuffer> sections,
+      final Map<List<Integer>, Integer> sectionEntries,
+      final int type) {
+    final ByteBuffer section = sections.get(List.of(type, BATCH));
+    if (section == null) {
+      return null;
+    }
+    return new MappedStringList(section, sectionEntries.get(List.of(type, BATCH)));
+  }
+
+  private static ByteBuffer slice(final ByteBuffer buffer, final int offset) {
+    final ByteBuffer duplicate = buffer.duplicate();
+    duplicate.position(offset);
+    return duplicate.slice();
+  }
+
+  private static ByteBuffer limit(final ByteBuffer section, final int size) {
+    final ByteBuffer duplicate = section.duplicate();
+    duplicate.limit(size);
+    return duplicate;
+  }
+
+  private static MessageDigest newSha256Digest() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (final NoSuchAlgorithmException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+
+  private static <T> List<T> asList(final T[] points) {
+    return points == null ? null : Arrays.asList(points);
+  }
+
+  @FunctionalInterface
+  private interface SectionWriter {
+    void write(DataOutputStream out) throws IOException;
+  }
+
+  private static class Section {
+
+    private final int type;
+    private final int transcript;
+    private final int entries;
+    private final long size;
+    private final SectionWriter writer;
+
+    private Section(
+        final int type,
+        final int transcript,
+        final int entries,
+        final long size,
+        final SectionWriter writer) {
+      this.type = type;
+      this.transcript = transcript;
+      this.entries = entries;
+      this.size = size;
+      this.writer = writer;
+    }
+  }
+
+  /** A read-only view over a strings section of the mapped file. */
+  private static class MappedStringList extends AbstractList<String> implements RandomAccess {
+
+    private final ByteBuffer section;
+    private final int size;
+    private final int dataOffset;
+
+    private MappedStringList(final ByteBuffer section, final int size) {
+      this.section = section;
+      this.size = size;
+      this.dataOffset = Integer.BYTES * (size + 1);
+    }
+
+    @Override
+    public String get(final int index) {
+      if (index < 0 || index >= size) {
+        throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+      }
+      final int start = section.getInt(Integer.BYTES * index);
+      final int end = section.getInt(Integer.BYTES * (index + 1));
+      final byte[] bytes = new byte[end - start];
+      for (int i = 0; i < bytes.length; i++) {
+        bytes[i] = section.get(dataOffset + start + i);
+      }
+      return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+  }
+}
@@ -2,6 +2,7 @@ package chotto.serialization;
 
 import chotto.objects.BlsSignature;
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
 import java.io.IOException;
@@ -11,10 +12,9 @@ public class BlsSignatureDeserializer extends JsonDeserializer<BlsSignature> {
   @Override
   public BlsSignature deserialize(final JsonParser p, final DeserializationContext ctxt)
       throws IOException {
-    final String valueAsString = p.getValueAsString();
-    if (valueAsString.isBlank()) {
+    if (p.currentToken() == JsonToken.VALUE_STRING && HexCodec.isBlank(p)) {
       return null;
     }
-    return BlsSignature.fromHexString(valueAsString);
+    return BlsSignature.fromBytes(HexCodec.decodePoint(p, BlsSignature.COMPRESSED_SIZE));
   }
 }
@@ -12,6 +12,6 @@ public class BlsSignatureSerializer extends JsonSerializer<BlsSignature> {
   public void serialize(
       final BlsSignature value, final JsonGenerator gen, final SerializerProvider serializers)
       throws IOException {
-    gen.writeString(value.toHexString());
+    HexCodec.encode(gen, value.toBytesCompressed().toArrayUnsafe());
   }
 }
@@ -1,10 +1,15 @@
 package chotto.serialization;
 
+import chotto.objects.BatchTranscript;
+import chotto.objects.BatchTranscriptParameters;
 import chotto.objects.BlsSignature;
 import chotto.objects.G1Point;
 import chotto.objects.G2Point;
+import chotto.objects.PowersOfTau;
+import chotto.objects.Witness;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.module.SimpleModule;
+import java.util.concurrent.ForkJoinPool;
 
 public class ChottoObjectMapper {
 
@@ -14,17 +19,44 @@ public class ChottoObjectMapper {
 
   public static ObjectMapper getInstance() {
     if (instance == null) {
-      instance = new ObjectMapper();
-      final SimpleModule module = new SimpleModule("Chotto");
-      module.addSerializer(G1Point.class, new G1PointSerializer());
-      module.addDeserializer(G1Point.class, new G1PointDeserializer());
-      module.addSerializer(G2Point.class, new G2PointSerializer());
-      module.addDeserializer(G2Point.class, new G2PointDeserializer());
-      module.addSerializer(BlsSignature.class, new BlsSignatureSerializer());
-      module.addDeserializer(BlsSignature.class, new BlsSignatureDeserializer());
-      instance.registerModule(module);
-      instance.getSerializerProvider().setNullValueSerializer(new CustomNullSerializer());
+      instance = create(ForkJoinPool.commonPool());
     }
     return instance;
   }
+
+  /**
+   * Creates a new mapper which uses the given {@link ForkJoinPool} for decompressing the points of
+   * the Powers of Tau and the witness in parallel when deserializing.
+   */
+  public static ObjectMapper create(final ForkJoinPool forkJoinPool) {
+    return create(forkJoinPool, TranscriptStorage.HEAP);
+  }
+
+  /**
+   * Same as {@link #create(ForkJoinPool)}, but the witness and the participants of transcripts are
+   * stored as specified by the given {@link TranscriptStorage}.
+   */
+  public static ObjectMapper create(
+      final ForkJoinPool forkJoinPool, final TranscriptStorage transcriptStorage) {
+    final ObjectMapper objectMapper = new ObjectMapper();
+    final SimpleModule module = new SimpleModule("Chotto");
+    module.addSerializer(G1Point.class, new G1PointSerializer());
+    module.addDeserializer(G1Point.class, new G1PointDeserializer());
+    module.addSerializer(G2Point.class, new G2PointSerializer());
+    module.addDeserializer(G2Point.class, new G2PointDeserializer());
+    module.addSerializer(BlsSignature.class, new BlsSignatureSerializer());
+    module.addDeserializer(BlsSignature.class, new BlsSignatureDeserializer());
+    module.addSerializer(PowersOfTau.class, new PowersOfTauSerializer());
+    module.addDeserializer(PowersOfTau.class, new PowersOfTauDeserializer(forkJoinPool));
+    module.addSerializer(Witness.class, new WitnessSerializer());
+    module.addDeserializer(Witness.class, new WitnessDeserializer(forkJoinPool, transcriptStorage));
+    module.addDeserializer(
+        BatchTranscriptParameters.class, new BatchTranscriptParametersDeserializer());
+    if (transcriptStorage == TranscriptStorage.COLUMNAR) {
+      module.addDeserializer(BatchTranscript.class, new ColumnarBatchTranscriptDeserializer());
+    }
+    objectMapper.registerModule(module);
+    objectMapper.getSerializerProvider().setNullValueSerializer(new CustomNullSerializer());
+    return objectMapper;
+  }
 }
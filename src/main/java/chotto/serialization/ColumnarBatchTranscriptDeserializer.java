@@ -0,0 +1,83 @@
+package chotto.serialization;
+
+import chotto.objects.BatchTranscript;
+import chotto.objects.StringColumn;
+import chotto.objects.Transcript;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Used with {@link TranscriptStorage#COLUMNAR} to append the participant ids and ECDSA signatures
+ * to {@link StringColumn}s. The transcripts themselves are bound as usual.
+ */
+public class ColumnarBatchTranscriptDeserializer extends JsonDeserializer<BatchTranscript> {
+
+  private static final String TRANSCRIPTS_FIELD = "transcripts";
+  private static final String PARTICIPANT_IDS_FIELD = "participantIds";
+  private static final String PARTICIPANT_ECDSA_SIGNATURES_FIELD = "participantEcdsaSignatures";
+
+  @Override
+  public BatchTranscript deserialize(final JsonParser p, final DeserializationContext ctxt)
+      throws IOException {
+    if (p.currentToken() != JsonToken.START_OBJECT) {
+      return (BatchTranscript) ctxt.handleUnexpectedToken(BatchTranscript.class, p);
+    }
+    List<Transcript> transcripts = null;
+    StringColumn participantIds = null;
+    StringColumn participantEcdsaSignatures = null;
+    while (p.nextToken() == JsonToken.FIELD_NAME) {
+      final String fieldName = p.getCurrentName();
+      p.nextToken();
+      if (TRANSCRIPTS_FIELD.equals(fieldName)) {
+        transcripts = readTranscripts(p, ctxt);
+      } else if (PARTICIPANT_IDS_FIELD.equals(fieldName)) {
+        participantIds = readColumn(p, ctxt);
+      } else if (PARTICIPANT_ECDSA_SIGNATURES_FIELD.equals(fieldName)) {
+        participantEcdsaSignatures = readColumn(p, ctxt);
+      } else {
+        p.skipChildren();
+      }
+    }
+    return new BatchTranscript(transcripts, participantIds, participantEcdsaSignatures);
+  }
+
+  private static List<Transcript> readTranscripts(
+      final JsonParser p, final DeserializationContext ctxt) throws IOException {
+    if (p.currentToken() == JsonToken.VALUE_NULL) {
+      return null;
+    }
+    if (p.currentToken() != JsonToken.START_ARRAY) {
+      ctxt.handleUnexpectedToken(List.class, p);
+      return null;
+    }
+    final List<Transcript> transcripts = new ArrayList<>();
+    while (p.nextToken() != JsonToken.END_ARRAY) {
+      transcripts.add(ctxt.readValue(p, Transcript.class));
+    }
+    return transcripts;
+  }
+
+  private static StringColumn readColumn(final JsonParser p, final DeserializationContext ctxt)
+      throws IOException {
+    if (p.currentToken() == JsonToken.VALUE_NULL) {
+      return null;
+    }
+    if (p.currentToken() != JsonToken.START_ARRAY) {
+      ctxt.handleUnexpectedToken(List.class, p);
+      return null;
+    }
+    final StringColumn column = new StringColumn();
+    while (p.nextToken() != JsonToken.END_ARRAY) {
+      if (p.currentToken() != JsonToken.VALUE_STRING) {
+        ctxt.handleUnexpectedToken(String.class, p);
+      }
+      column.append(p.getText());
+    }
+    return column;
+  }
+}
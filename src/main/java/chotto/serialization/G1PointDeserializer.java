@@ -11,6 +11,6 @@ public class G1PointDeserializer extends JsonDeserializer<G1Point> {
   @Override
   public G1Point deserialize(final JsonParser p, final DeserializationContext ctxt)
       throws IOException {
-    return G1Point.fromHexString(p.getValueAsString());
+    return G1Point.fromBytes(HexCodec.decodePoint(p, G1Point.COMPRESSED_SIZE));
   }
 }
@@ -12,6 +12,6 @@ public class G1PointSerializer extends JsonSerializer<G1Point> {
   public void serialize(
       final G1Point value, final JsonGenerator gen, final SerializerProvider serializers)
       throws IOException {
-    gen.writeString(value.toHexString());
+    HexCodec.encode(gen, value.toBytesCompressed().toArrayUnsafe());
   }
 }
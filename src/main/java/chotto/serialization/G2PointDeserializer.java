@@ -11,6 +11,6 @@ public class G2PointDeserializer extends JsonDeserializer<G2Point> {
   @Override
   public G2Point deserialize(final JsonParser p, final DeserializationContext ctxt)
       throws IOException {
-    return G2Point.fromHexString(p.getValueAsString());
+    return G2Point.fromBytes(HexCodec.decodePoint(p, G2Point.COMPRESSED_SIZE));
   }
 }
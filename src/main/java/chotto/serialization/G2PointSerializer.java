@@ -12,6 +12,6 @@ public class G2PointSerializer extends JsonSerializer<G2Point> {
   public void serialize(
       final G2Point value, final JsonGenerator gen, final SerializerProvider serializers)
       throws IOException {
-    gen.writeString(value.toHexString());
+    HexCodec.encode(gen, value.toBytesCompressed().toArrayUnsafe());
   }
 }
@@ -0,0 +1,108 @@
+package chotto.serialization;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import java.io.IOException;
+import java.util.Arrays;
+
+/** Hex codec over the character buffers of Jackson, without an intermediate String per point. */
+final class HexCodec {
+
+  private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+  private static final byte[] HEX_VALUES = new byte[128];
+
+  static {
+    Arrays.fill(HEX_VALUES, (byte) -1);
+    for (int i = 0; i < 10; i++) {
+      HEX_VALUES['0' + i] = (byte) i;
+    }
+    for (int i = 0; i < 6; i++) {
+      HEX_VALUES['a' + i] = (byte) (10 + i);
+      HEX_VALUES['A' + i] = (byte) (10 + i);
+    }
+  }
+
+  // large enough for an uncompressed G2 point with a 0x prefix
+  private static final int INITIAL_BUFFER_SIZE = 2 + 2 * 192;
+
+  private static final ThreadLocal<char[]> ENCODING_BUFFER =
+      ThreadLocal.withInitial(() -> new char[INITIAL_BUFFER_SIZE]);
+
+  private HexCodec() {}
+
+  static byte[] decodePoint(final JsonParser p, final int compressedSize) throws IOException {
+    final byte[] bytes = decode(p);
+    if (bytes.length != compressedSize && bytes.length != 2 * compressedSize) {
+      throw new JsonParseException(
+          p,
+          String.format(
+              "Expected %d or %d bytes but got %d",
+              compressedSize, 2 * compressedSize, bytes.length));
+    }
+    return bytes;
+  }
+
+  static byte[] decode(final JsonParser p) throws IOException {
+    if (p.currentToken() != JsonToken.VALUE_STRING) {
+      throw new JsonParseException(
+          p, String.format("Expected a hex string but got %s", p.currentToken()));
+    }
+    final char[] text = p.getTextCharacters();
+    int offset = p.getTextOffset();
+    int length = p.getTextLength();
+    if (length >= 2
+        && text[offset] == '0'
+        && (text[offset + 1] == 'x' || text[offset + 1] == 'X')) {
+      offset += 2;
+      length -= 2;
+    }
+    if ((length & 1) != 0) {
+      throw new JsonParseException(
+          p, String.format("Hex string has an odd number of digits (%d)", length));
+    }
+    final byte[] bytes = new byte[length >> 1];
+    for (int i = 0; i < bytes.length; i++) {
+      final int position = offset + 2 * i;
+      bytes[i] = (byte) (digit(p, text[position]) << 4 | digit(p, text[position + 1]));
+    }
+    return bytes;
+  }
+
+  static boolean isBlank(final JsonParser p) throws IOException {
+    final char[] text = p.getTextCharacters();
+    final int end = p.getTextOffset() + p.getTextLength();
+    for (int i = p.getTextOffset(); i < end; i++) {
+      if (!Character.isWhitespace(text[i])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  static void encode(final JsonGenerator gen, final byte[] bytes) throws IOException {
+    final int length = 2 + 2 * bytes.length;
+    char[] buffer = ENCODING_BUFFER.get();
+    if (buffer.length < length) {
+      buffer = new char[length];
+      ENCODING_BUFFER.set(buffer);
+    }
+    buffer[0] = '0';
+    buffer[1] = 'x';
+    for (int i = 0; i < bytes.length; i++) {
+      buffer[2 + 2 * i] = HEX_DIGITS[(bytes[i] >> 4) & 0xf];
+      buffer[3 + 2 * i] = HEX_DIGITS[bytes[i] & 0xf];
+    }
+    gen.writeString(buffer, 0, length);
+  }
+
+  private static int digit(final JsonParser p, final char c) throws JsonParseException {
+    final int value = c < HEX_VALUES.length ? HEX_VALUES[c] : -1;
+    if (value < 0) {
+      throw new JsonParseException(p, String.format("Invalid hex character '%c'", c));
+    }
+    return value;
+  }
+}
@@ -0,0 +1,24 @@
+package chotto.serialization;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import java.io.IOException;
+
+/**
+ * Reads the numG1Powers of a contribution or transcript and records it in the {@link
+ * DeserializationContext}, so that {@link PowersOfTauDeserializer} can preallocate the G1 powers
+ * when they follow it in the same object.
+ */
+public class NumG1PowersDeserializer extends JsonDeserializer<Integer> {
+
+  static final String DECLARED_NUM_G1_POWERS_ATTRIBUTE = "declaredNumG1Powers";
+
+  @Override
+  public Integer deserialize(final JsonParser p, final DeserializationContext ctxt)
+      throws IOException {
+    final Integer numG1Powers = ctxt.readValue(p, Integer.class);
+    ctxt.setAttribute(DECLARED_NUM_G1_POWERS_ATTRIBUTE, numG1Powers);
+    return numG1Powers;
+  }
+}
@@ -0,0 +1,111 @@
+package chotto.serialization;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * Reads a json array of hex encoded points and decodes every chunk of {@value #CHUNK_SIZE} points
+ * on a {@link ForkJoinPool} as soon as it is read, into an array preallocated with the expected
+ * number of points.
+ */
+final class PointArrayReader<T> {
+
+  static final int CHUNK_SIZE = 256;
+
+  private final ForkJoinPool forkJoinPool;
+  private final int compressedSize;
+  private final boolean blankAsNull;
+  private final Function<byte[], T> decoder;
+  private final IntFunction<T[]> arrayConstructor;
+
+  /**
+   * @param blankAsNull whether a blank string is read as a null point, which is how {@link
+   *     CustomNullSerializer} writes nulls
+   */
+  PointArrayReader(
+      final ForkJoinPool forkJoinPool,
+      final int compressedSize,
+      final boolean blankAsNull,
+      final Function<byte[], T> decoder,
+      final IntFunction<T[]> arrayConstructor) {
+    this.forkJoinPool = forkJoinPool;
+    this.compressedSize = compressedSize;
+    this.blankAsNull = blankAsNull;
+    this.decoder = decoder;
+    this.arrayConstructor = arrayConstructor;
+  }
+
+  T[] read(final JsonParser p, final DeserializationContext ctxt, final int expectedSize)
+      throws IOException {
+    if (p.currentToken() == JsonToken.VALUE_NULL) {
+      return null;
+    }
+    if (p.currentToken() != JsonToken.START_ARRAY) {
+      ctxt.handleUnexpectedToken(Object[].class, p);
+      return null;
+    }
+    final List<ForkJoinTask<?>> pendingChunks = new ArrayList<>();
+    T[] points = arrayConstructor.apply(expectedSize);
+    int size = 0;
+    byte[][] chunk = new byte[CHUNK_SIZE][];
+    int chunkSize = 0;
+    while (p.nextToken() != JsonToken.END_ARRAY) {
+      chunk[chunkSize++] = readBytes(p);
+      if (chunkSize == CHUNK_SIZE) {
+        points = submitDecompression(points, size, chunk, chunkSize, pendingChunks);
+        size += chunkSize;
+        chunk = new byte[CHUNK_SIZE][];
+        chunkSize = 0;
+      }
+    }
+    if (chunkSize > 0) {
+      points = submitDecompression(points, size, chunk, chunkSize, pendingChunks);
+      size += chunkSize;
+    }
+    pendingChunks.forEach(ForkJoinTask::join);
+    return size == points.length ? points : Arrays.copyOf(points, size);
+  }
+
+  private byte[] readBytes(final JsonParser p) throws IOException {
+    if (p.currentToken() == JsonToken.VALUE_NULL) {
+      return null;
+    }
+    if (blankAsNull && p.currentToken() == JsonToken.VALUE_STRING && HexCodec.isBlank(p)) {
+      return null;
+    }
+    return HexCodec.decodePoint(p, compressedSize);
+  }
+
+  private T[] submitDecompression(
+      final T[] points,
+      final int offset,
+      final byte[][] chunk,
+      final int chunkSize,
+      final List<ForkJoinTask<?>> pendingChunks) {
+    T[] target = points;
+    if (offset + chunkSize > target.length) {
+      // no chunk must be writing to the old array while it is copied
+      pendingChunks.forEach(ForkJoinTask::join);
+      pendingChunks.clear();
+      target = Arrays.copyOf(target, Math.max(2 * target.length, offset + chunkSize));
+    }
+    final T[] chunkTarget = target;
+    pendingChunks.add(
+        forkJoinPool.submit(
+            () -> {
+              for (int i = 0; i < chunkSize; i++) {
+                chunkTarget[offset + i] = chunk[i] == null ? null : decoder.apply(chunk[i]);
+              }
+            }));
+    return target;
+  }
+}
@@ -0,0 +1,45 @@
+package chotto.serialization;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import org.apache.tuweni.bytes.Bytes;
+
+/** Writes arrays of points in a tight loop, without looking up a serializer for every point. */
+final class PointArrayWriter {
+
+  private PointArrayWriter() {}
+
+  static <T> void write(
+      final JsonGenerator gen,
+      final SerializerProvider serializers,
+      final T[] points,
+      final Function<T, Bytes> compressor)
+      throws IOException {
+    write(gen, serializers, points == null ? null : Arrays.asList(points), compressor);
+  }
+
+  static <T> void write(
+      final JsonGenerator gen,
+      final SerializerProvider serializers,
+      final List<T> points,
+      final Function<T, Bytes> compressor)
+      throws IOException {
+    if (points == null) {
+      serializers.defaultSerializeNull(gen);
+      return;
+    }
+    gen.writeStartArray(points, points.size());
+    for (final T point : points) {
+      if (point == null) {
+        serializers.defaultSerializeNull(gen);
+      } else {
+        HexCodec.encode(gen, compressor.apply(point).toArrayUnsafe());
+      }
+    }
+    gen.writeEndArray();
+  }
+}
@@ -0,0 +1,93 @@
+package chotto.serialization;
+
+import chotto.Constants;
+import chotto.objects.G1Point;
+import chotto.objects.G2Point;
+import chotto.objects.PowersOfTau;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import java.io.IOException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Decompresses the powers eagerly and in parallel with a {@link PointArrayReader}, since all of
+ * them are used for arithmetic. The G1 powers are preallocated with the numG1Powers declared before
+ * them (see {@link NumG1PowersDeserializer}) if it is one of the allowed sizes.
+ */
+public class PowersOfTauDeserializer extends JsonDeserializer<PowersOfTau> {
+
+  static final String G1_POWERS_FIELD = "G1Powers";
+  static final String G2_POWERS_FIELD = "G2Powers";
+
+  private final PointArrayReader<G1Point> g1PowersReader;
+  private final PointArrayReader<G2Point> g2PowersReader;
+
+  public PowersOfTauDeserializer(final ForkJoinPool forkJoinPool) {
+    this.g1PowersReader =
+        new PointArrayReader<>(
+            forkJoinPool,
+            G1Point.COMPRESSED_SIZE,
+            false,
+            PowersOfTauDeserializer::decompressG1Point,
+            G1Point[]::new);
+    this.g2PowersReader =
+        new PointArrayReader<>(
+            forkJoinPool,
+            G2Point.COMPRESSED_SIZE,
+            false,
+            PowersOfTauDeserializer::decompressG2Point,
+            G2Point[]::new);
+  }
+
+  @Override
+  public PowersOfTau deserialize(final JsonParser p, final DeserializationContext ctxt)
+      throws IOException {
+    if (p.currentToken() != JsonToken.START_OBJECT) {
+      return (PowersOfTau) ctxt.handleUnexpectedToken(PowersOfTau.class, p);
+    }
+    final int expectedNumG1Powers = consumeDeclaredNumG1Powers(ctxt);
+    G1Point[] g1Powers = null;
+    G2Point[] g2Powers = null;
+    while (p.nextToken() == JsonToken.FIELD_NAME) {
+      final String fieldName = p.getCurrentName();
+      p.nextToken();
+      if (G1_POWERS_FIELD.equals(fieldName)) {
+        g1Powers = g1PowersReader.read(p, ctxt, expectedNumG1Powers);
+      } else if (G2_POWERS_FIELD.equals(fieldName)) {
+        g2Powers = g2PowersReader.read(p, ctxt, Constants.SUB_CEREMONY_NUM_G2_POWERS);
+      } else {
+        p.skipChildren();
+      }
+    }
+    return new PowersOfTau(g1Powers, g2Powers);
+  }
+
+  private static G1Point decompressG1Point(final byte[] bytes) {
+    final G1Point point = G1Point.fromBytes(bytes);
+    point.decompress();
+    return point;
+  }
+
+  private static G2Point decompressG2Point(final byte[] bytes) {
+    final G2Point point = G2Point.fromBytes(bytes);
+    point.decompress();
+    return point;
+  }
+
+  /**
+   * Consumes the declared numG1Powers, returning the chunk size if it isn't one of the sizes of the
+   * sub-ceremonies.
+   */
+  private static int consumeDeclaredNumG1Powers(final DeserializationContext ctxt) {
+    final Object declaredNumG1Powers =
+        ctxt.getAttribute(NumG1PowersDeserializer.DECLARED_NUM_G1_POWERS_ATTRIBUTE);
+    ctxt.setAttribute(NumG1PowersDeserializer.DECLARED_NUM_G1_POWERS_ATTRIBUTE, null);
+    if (declaredNumG1Powers == null
+        || !Constants.SUB_CEREMONIES_NUM_G1_POWERS.contains(declaredNumG1Powers)) {
+      return PointArrayReader.CHUNK_SIZE;
+    }
+    return (Integer) declaredNumG1Powers;
+  }
+}
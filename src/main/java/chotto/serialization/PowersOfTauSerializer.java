@@ -0,0 +1,27 @@
+package chotto.serialization;
+
+import static chotto.serialization.PowersOfTauDeserializer.G1_POWERS_FIELD;
+import static chotto.serialization.PowersOfTauDeserializer.G2_POWERS_FIELD;
+
+import chotto.objects.G1Point;
+import chotto.objects.G2Point;
+import chotto.objects.PowersOfTau;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import java.io.IOException;
+
+public class PowersOfTauSerializer extends JsonSerializer<PowersOfTau> {
+
+  @Override
+  public void serialize(
+      final PowersOfTau value, final JsonGenerator gen, final SerializerProvider serializers)
+      throws IOException {
+    gen.writeStartObject();
+    gen.writeFieldName(G1_POWERS_FIELD);
+    PointArrayWriter.write(gen, serializers, value.getG1Powers(), G1Point::toBytesCompressed);
+    gen.writeFieldName(G2_POWERS_FIELD);
+    PointArrayWriter.write(gen, serializers, value.getG2Powers(), G2Point::toBytesCompressed);
+    gen.writeEndObject();
+  }
+}
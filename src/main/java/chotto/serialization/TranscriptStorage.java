@@ -0,0 +1,25 @@
+package chotto.serialization;
+
+import chotto.objects.PointColumn;
+import chotto.objects.StringColumn;
+
+public enum TranscriptStorage {
+  /** Binds the witness and the participants of the transcript to objects on the heap. */
+  HEAP("Heap"),
+  /**
+   * Packs the witness and the participants of the transcript in off-heap columns, see {@link
+   * PointColumn} and {@link StringColumn}.
+   */
+  COLUMNAR("Columnar");
+
+  private final String storageName;
+
+  TranscriptStorage(final String storageName) {
+    this.storageName = storageName;
+  }
+
+  @Override
+  public String toString() {
+    return storageName;
+  }
+}
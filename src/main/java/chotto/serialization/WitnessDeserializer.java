@@ -0,0 +1,142 @@
+package chotto.serialization;
+
+import chotto.objects.BlsSignature;
+import chotto.objects.G1Point;
+import chotto.objects.G2Point;
+import chotto.objects.PointColumn;
+import chotto.objects.Witness;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Reads the witness with {@link PointArrayReader}s, keeping the points compressed, or appends them
+ * to {@link PointColumn}s with {@link TranscriptStorage#COLUMNAR}.
+ */
+public class WitnessDeserializer extends JsonDeserializer<Witness> {
+
+  static final String RUNNING_PRODUCTS_FIELD = "runningProducts";
+  static final String POT_PUBKEYS_FIELD = "potPubkeys";
+  static final String BLS_SIGNATURES_FIELD = "blsSignatures";
+
+  private final PointArrayReader<G1Point> runningProductsReader;
+  private final PointArrayReader<G2Point> potPubkeysReader;
+  private final PointArrayReader<BlsSignature> blsSignaturesReader;
+
+  private final TranscriptStorage transcriptStorage;
+
+  public WitnessDeserializer(final ForkJoinPool forkJoinPool) {
+    this(forkJoinPool, TranscriptStorage.HEAP);
+  }
+
+  public WitnessDeserializer(
+      final ForkJoinPool forkJoinPool, final TranscriptStorage transcriptStorage) {
+    this.runningProductsReader =
+        new PointArrayReader<>(
+            forkJoinPool, G1Point.COMPRESSED_SIZE, false, G1Point::fromBytes, G1Point[]::new);
+    this.potPubkeysReader =
+        new PointArrayReader<>(
+            forkJoinPool, G2Point.COMPRESSED_SIZE, false, G2Point::fromBytes, G2Point[]::new);
+    this.blsSignaturesReader =
+        new PointArrayReader<>(
+            forkJoinPool,
+            BlsSignature.COMPRESSED_SIZE,
+            true,
+            BlsSignature::fromBytes,
+            BlsSignature[]::new);
+    this.transcriptStorage = transcriptStorage;
+  }
+
+  @Override
+  public Witness deserialize(final JsonParser p, final DeserializationContext ctxt)
+      throws IOException {
+    if (p.currentToken() != JsonToken.START_OBJECT) {
+      return (Witness) ctxt.handleUnexpectedToken(Witness.class, p);
+    }
+    if (transcriptStorage == TranscriptStorage.COLUMNAR) {
+      return deserializeColumnar(p, ctxt);
+    }
+    G1Point[] runningProducts = null;
+    G2Point[] potPubkeys = null;
+    BlsSignature[] blsSignatures = null;
+    int expectedSize = PointArrayReader.CHUNK_SIZE;
+    while (p.nextToken() == JsonToken.FIELD_NAME) {
+      final String fieldName = p.getCurrentName();
+      p.nextToken();
+      if (RUNNING_PRODUCTS_FIELD.equals(fieldName)) {
+        runningProducts = runningProductsReader.read(p, ctxt, expectedSize);
+        expectedSize = getExpectedSize(runningProducts, expectedSize);
+      } else if (POT_PUBKEYS_FIELD.equals(fieldName)) {
+        potPubkeys = potPubkeysReader.read(p, ctxt, expectedSize);
+        expectedSize = getExpectedSize(potPubkeys, expectedSize);
+      } else if (BLS_SIGNATURES_FIELD.equals(fieldName)) {
+        blsSignatures = blsSignaturesReader.read(p, ctxt, expectedSize);
+        expectedSize = getExpectedSize(blsSignatures, expectedSize);
+      } else {
+        p.skipChildren();
+      }
+    }
+    return new Witness(asList(runningProducts), asList(potPubkeys), asList(blsSignatures));
+  }
+
+  private Witness deserializeColumnar(final JsonParser p, final DeserializationContext ctxt)
+      throws IOException {
+    PointColumn<G1Point> runningProducts = null;
+    PointColumn<G2Point> potPubkeys = null;
+    PointColumn<BlsSignature> blsSignatures = null;
+    while (p.nextToken() == JsonToken.FIELD_NAME) {
+      final String fieldName = p.getCurrentName();
+      p.nextToken();
+      if (RUNNING_PRODUCTS_FIELD.equals(fieldName)) {
+        runningProducts = readColumn(p, ctxt, PointColumn.forG1(), G1Point.COMPRESSED_SIZE, false);
+      } else if (POT_PUBKEYS_FIELD.equals(fieldName)) {
+        potPubkeys = readColumn(p, ctxt, PointColumn.forG2(), G2Point.COMPRESSED_SIZE, false);
+      } else if (BLS_SIGNATURES_FIELD.equals(fieldName)) {
+        blsSignatures =
+            readColumn(p, ctxt, PointColumn.forBlsSignatures(), BlsSignature.COMPRESSED_SIZE, true);
+      } else {
+        p.skipChildren();
+      }
+    }
+    return new Witness(runningProducts, potPubkeys, blsSignatures);
+  }
+
+  private static <T> PointColumn<T> readColumn(
+      final JsonParser p,
+      final DeserializationContext ctxt,
+      final PointColumn<T> column,
+      final int compressedSize,
+      final boolean blankAsNull)
+      throws IOException {
+    if (p.currentToken() == JsonToken.VALUE_NULL) {
+      return null;
+    }
+    if (p.currentToken() != JsonToken.START_ARRAY) {
+      ctxt.handleUnexpectedToken(Object[].class, p);
+      return null;
+    }
+    while (p.nextToken() != JsonToken.END_ARRAY) {
+      if (blankAsNull
+          && (p.currentToken() == JsonToken.VALUE_NULL
+              || (p.currentToken() == JsonToken.VALUE_STRING && HexCodec.isBlank(p)))) {
+        column.append(null);
+      } else {
+        column.append(HexCodec.decodePoint(p, compressedSize));
+      }
+    }
+    return column;
+  }
+
+  private static int getExpectedSize(final Object[] points, final int previousExpectedSize) {
+    return points == null ? previousExpectedSize : points.length;
+  }
+
+  private static <T> List<T> asList(final T[] points) {
+    return points == null ? null : Arrays.asList(points);
+  }
+}
@@ -0,0 +1,33 @@
+package chotto.serialization;
+
+import static chotto.serialization.WitnessDeserializer.BLS_SIGNATURES_FIELD;
+import static chotto.serialization.WitnessDeserializer.POT_PUBKEYS_FIELD;
+import static chotto.serialization.WitnessDeserializer.RUNNING_PRODUCTS_FIELD;
+
+import chotto.objects.BlsSignature;
+import chotto.objects.G1Point;
+import chotto.objects.G2Point;
+import chotto.objects.Witness;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import java.io.IOException;
+
+public class WitnessSerializer extends JsonSerializer<Witness> {
+
+  @Override
+  public void serialize(
+      final Witness value, final JsonGenerator gen, final SerializerProvider serializers)
+      throws IOException {
+    gen.writeStartObject();
+    gen.writeFieldName(RUNNING_PRODUCTS_FIELD);
+    PointArrayWriter.write(
+        gen, serializers, value.getRunningProducts(), G1Point::toBytesCompressed);
+    gen.writeFieldName(POT_PUBKEYS_FIELD);
+    PointArrayWriter.write(gen, serializers, value.getPotPubkeys(), G2Point::toBytesCompressed);
+    gen.writeFieldName(BLS_SIGNATURES_FIELD);
+    PointArrayWriter.write(
+        gen, serializers, value.getBlsSignatures(), BlsSignature::toBytesCompressed);
+    gen.writeEndObject();
+  }
+}
@@ -4,7 +4,7 @@ import chotto.Constants;
 import chotto.Store;
 import chotto.cli.CliInstructor;
 import chotto.contribution.SubContributionManager;
-import chotto.objects.BatchTranscript;
+import chotto.objects.BatchTranscriptParameters;
 import chotto.objects.SubContributionContext;
 import chotto.template.TemplateResolver;
 import com.pivovarit.function.ThrowingRunnable;
@@ -42,12 +42,13 @@ public class EcdsaSigner {
     this.store = store;
   }
 
-  public String sign(final String ethAddress, final BatchTranscript batchTranscript) {
+  public String sign(
+      final String ethAddress, final BatchTranscriptParameters batchTranscriptParameters) {
 
     final List<SubContributionContext> contributionContexts = subContributionManager.getContexts();
 
     final String typedData =
-        templateResolver.createTypedData(batchTranscript, contributionContexts);
+        templateResolver.createTypedData(batchTranscriptParameters, contributionContexts);
 
     final String signContributionHtml =
         templateResolver.createSignContributionHtml(
@@ -0,0 +1,95 @@
+package chotto.sign;
+
+import java.util.Arrays;
+
+/** Keccak-256 as used by Ethereum, i.e. with the original Keccak padding instead of SHA3's. */
+public class Keccak256 {
+
+  public static final int DIGEST_SIZE = 32;
+
+  private static final int RATE = 136;
+
+  private static final long[] ROUND_CONSTANTS = {
+    0x0000000000000001L, 0x0000000000008082L, 0x800000000000808aL, 0x8000000080008000L,
+    0x000000000000808bL, 0x0000000080000001L, 0x8000000080008081L, 0x8000000000008009L,
+    0x000000000000008aL, 0x0000000000000088L, 0x0000000080008009L, 0x000000008000000aL,
+    0x000000008000808bL, 0x800000000000008bL, 0x8000000000008089L, 0x8000000000008003L,
+    0x8000000000008002L, 0x8000000000000080L, 0x000000000000800aL, 0x800000008000000aL,
+    0x8000000080008081L, 0x8000000000008080L, 0x0000000080000001L, 0x8000000080008008L
+  };
+
+  // rotation offsets of the lanes, indexed by x + 5 * y
+  private static final int[] ROTATIONS = {
+    0, 1, 62, 28, 27, 36, 44, 6, 55, 20, 3, 10, 43, 25, 39, 41, 45, 15, 21, 8, 18, 2, 61, 56, 14
+  };
+
+  private Keccak256() {}
+
+  /** Hashes the concatenation of the inputs. */
+  public static byte[] hash(final byte[]... inputs) {
+    final long[] state = new long[25];
+    final byte[] block = new byte[RATE];
+    int blockLength = 0;
+    for (final byte[] input : inputs) {
+      for (final byte b : input) {
+        block[blockLength++] = b;
+        if (blockLength == RATE) {
+          absorb(state, block);
+          blockLength = 0;
+        }
+      }
+    }
+    Arrays.fill(block, blockLength, RATE, (byte) 0);
+    block[blockLength] ^= 0x01;
+    block[RATE - 1] ^= (byte) 0x80;
+    absorb(state, block);
+
+    final byte[] digest = new byte[DIGEST_SIZE];
+    for (int i = 0; i < DIGEST_SIZE; i++) {
+      digest[i] = (byte) (state[i / 8] >>> (8 * (i % 8)));
+    }
+    return digest;
+  }
+
+  private static void absorb(final long[] state, final byte[] block) {
+    for (int i = 0; i < RATE / 8; i++) {
+      long lane = 0;
+      for (int j = 7; j >= 0; j--) {
+        lane = (lane << 8) | (block[8 * i + j] & 0xFF);
+      }
+      state[i] ^= lane;
+    }
+    permute(state);
+  }
+
+  private static void permute(final long[] a) {
+    final long[] c = new long[5];
+    final long[] b = new long[25];
+    for (final long roundConstant : ROUND_CONSTANTS) {
+      // theta
+      for (int x = 0; x < 5; x++) {
+        c[x] = a[x] ^ a[x + 5] ^ a[x + 10] ^ a[x + 15] ^ a[x + 20];
+      }
+      for (int x = 0; x < 5; x++) {
+        final long d = c[(x + 4) % 5] ^ Long.rotateLeft(c[(x + 1) % 5], 1);
+        for (int y = 0; y < 25; y += 5) {
+          a[x + y] ^= d;
+        }
+      }
+      // rho and pi
+      for (int x = 0; x < 5; x++) {
+        for (int y = 0; y < 5; y++) {
+          b[y + 5 * ((2 * x + 3 * y) % 5)] = Long.rotateLeft(a[x + 5 * y], ROTATIONS[x + 5 * y]);
+        }
+      }
+      // chi
+      for (int y = 0; y < 25; y += 5) {
+        for (int x = 0; x < 5; x++) {
+          a[x + y] = b[x + y] ^ (~b[(x + 1) % 5 + y] & b[(x + 2) % 5 + y]);
+        }
+      }
+      // iota
+      a[0] ^= roundConstant;
+    }
+  }
+}
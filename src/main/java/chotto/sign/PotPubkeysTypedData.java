@@ -0,0 +1,68 @@
+package chotto.sign;
+
+import chotto.objects.BatchTranscriptParameters;
+import chotto.objects.G2Point;
+import chotto.objects.TranscriptParameters;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Computes the EIP-712 hash of the typed data which participants sign with their Ethereum address
+ * (see typedData.jte), so that the signatures in a transcript can be verified without a wallet.
+ */
+public class PotPubkeysTypedData {
+
+  private static final byte[] DOMAIN_TYPE_HASH =
+      keccak("EIP712Domain(string name,string version,uint256 chainId)");
+  private static final byte[] PRIMARY_TYPE_HASH =
+      keccak(
+          "PoTPubkeys(contributionPubkey[] potPubkeys)"
+              + "contributionPubkey(uint256 numG1Powers,uint256 numG2Powers,bytes potPubkey)");
+  private static final byte[] CONTRIBUTION_PUBKEY_TYPE_HASH =
+      keccak("contributionPubkey(uint256 numG1Powers,uint256 numG2Powers,bytes potPubkey)");
+
+  private static final byte[] DOMAIN_SEPARATOR =
+      Keccak256.hash(
+          DOMAIN_TYPE_HASH,
+          keccak("Ethereum KZG Ceremony"),
+          keccak("1.0"),
+          uint256(BigInteger.ONE));
+
+  private static final byte[] PREFIX = {0x19, 0x01};
+
+  private PotPubkeysTypedData() {}
+
+  /**
+   * @param potPubkeys the PoT pubkey of the participant in each sub-ceremony, in the same order as
+   *     the parameters
+   */
+  public static byte[] hash(
+      final BatchTranscriptParameters batchTranscriptParameters, final List<G2Point> potPubkeys) {
+    final List<TranscriptParameters> transcripts = batchTranscriptParameters.getTranscripts();
+    final byte[][] contributionPubkeyHashes = new byte[transcripts.size()][];
+    for (int i = 0; i < transcripts.size(); i++) {
+      final TranscriptParameters transcript = transcripts.get(i);
+      contributionPubkeyHashes[i] =
+          Keccak256.hash(
+              CONTRIBUTION_PUBKEY_TYPE_HASH,
+              uint256(BigInteger.valueOf(transcript.getNumG1Powers())),
+              uint256(BigInteger.valueOf(transcript.getNumG2Powers())),
+              Keccak256.hash(potPubkeys.get(i).toBytesCompressed().toArrayUnsafe()));
+    }
+    final byte[] messageHash =
+        Keccak256.hash(PRIMARY_TYPE_HASH, Keccak256.hash(contributionPubkeyHashes));
+    return Keccak256.hash(PREFIX, DOMAIN_SEPARATOR, messageHash);
+  }
+
+  private static byte[] keccak(final String value) {
+    return Keccak256.hash(value.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static byte[] uint256(final BigInteger value) {
+    final byte[] bytes = value.toByteArray();
+    final byte[] padded = new byte[32];
+    System.arraycopy(bytes, 0, padded, padded.length - bytes.length, bytes.length);
+    return padded;
+  }
+}
@@ -0,0 +1,177 @@
+package chotto.sign;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Optional;
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * Recovers the signer of an Ethereum ECDSA signature over secp256k1. Not constant time, since it
+ * only handles public data.
+ */
+public class Secp256k1 {
+
+  public static final int SIGNATURE_SIZE = 65;
+
+  static final BigInteger P =
+      new BigInteger("FFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFEFFFFFC2F", 16);
+  static final BigInteger N =
+      new BigInteger("FFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFEBAAEDCE6AF48A03BBFD25E8CD0364141", 16);
+
+  private static final BigInteger B = BigInteger.valueOf(7);
+  private static final BigInteger SQRT_EXPONENT = P.add(BigInteger.ONE).shiftRight(2);
+
+  private static final BigInteger[] G = {
+    new BigInteger("79BE667EF9DCBBAC55A06295CE870B07029BFCDB2DCE28D959F2815B16F81798", 16),
+    new BigInteger("483ADA7726A3C4655DA4FBFC0E1108A8FD17B448A68554199C47D08FFB10D4B8", 16),
+    BigInteger.ONE
+  };
+
+  private Secp256k1() {}
+
+  /**
+   * Recovers the address of the signer of a 32-byte message hash from a signature given as r || s
+   * || v, where v is either 0/1 or 27/28.
+   *
+   * @return the lowercase 0x-prefixed address or empty if the signature is not valid
+   */
+  public static Optional<String> recoverAddress(final byte[] messageHash, final byte[] signature) {
+    return recoverPublicKey(messageHash, signature)
+        .map(
+            publicKey -> {
+              final byte[] hash = Keccak256.hash(publicKey);
+              return Bytes.wrap(hash, hash.length - 20, 20).toHexString();
+            });
+  }
+
+  /** Recovers the public key as x || y, 64 bytes, or empty if the signature is not valid. */
+  static Optional<byte[]> recoverPublicKey(final byte[] messageHash, final byte[] signature) {
+    if (signature.length != SIGNATURE_SIZE) {
+      return Optional.empty();
+    }
+    final BigInteger r = new BigInteger(1, Arrays.copyOfRange(signature, 0, 32));
+    final BigInteger s = new BigInteger(1, Arrays.copyOfRange(signature, 32, 64));
+    int v = signature[64] & 0xFF;
+    if (v >= 27) {
+      v -= 27;
+    }
+    if (v > 1 || !isScalarInRange(r) || !isScalarInRange(s)) {
+      return Optional.empty();
+    }
+    // x = r + n is too unlikely to be supported
+    final Optional<BigInteger[]> rPointMaybe = decompress(r, v == 1);
+    if (rPointMaybe.isEmpty()) {
+      return Optional.empty();
+    }
+    final BigInteger rInverse = r.modInverse(N);
+    final BigInteger e = new BigInteger(1, messageHash).mod(N);
+    // Q = r^-1 * (s * R - e * G)
+    final BigInteger u1 = e.negate().multiply(rInverse).mod(N);
+    final BigInteger u2 = s.multiply(rInverse).mod(N);
+    final BigInteger[] q = multiplyAndAdd(u1, G, u2, rPointMaybe.get());
+    if (q == null) {
+      return Optional.empty();
+    }
+    final BigInteger zInverse = q[2].modInverse(P);
+    final BigInteger zInverse2 = zInverse.multiply(zInverse).mod(P);
+    final BigInteger x = q[0].multiply(zInverse2).mod(P);
+    final BigInteger y = q[1].multiply(zInverse2).multiply(zInverse).mod(P);
+    final byte[] publicKey = new byte[64];
+    copyUnsigned(x, publicKey, 0);
+    copyUnsigned(y, publicKey, 32);
+    return Optional.of(publicKey);
+  }
+
+  private static boolean isScalarInRange(final BigInteger scalar) {
+    return scalar.signum() > 0 && scalar.compareTo(N) < 0;
+  }
+
+  private static Optional<BigInteger[]> decompress(final BigInteger x, final boolean odd) {
+    if (x.compareTo(P) >= 0) {
+      return Optional.empty();
+    }
+    final BigInteger y2 = x.pow(3).add(B).mod(P);
+    BigInteger y = y2.modPow(SQRT_EXPONENT, P);
+    if (!y.multiply(y).mod(P).equals(y2)) {
+      return Optional.empty();
+    }
+    if (y.testBit(0) != odd) {
+      y = P.subtract(y);
+    }
+    return Optional.of(new BigInteger[] {x, y, BigInteger.ONE});
+  }
+
+  // points are in Jacobian coordinates, with null for the point at infinity
+
+  /** Computes k1 * p1 + k2 * p2 with a single chain of doublings (Shamir's trick). */
+  private static BigInteger[] multiplyAndAdd(
+      final BigInteger k1, final BigInteger[] p1, final BigInteger k2, final BigInteger[] p2) {
+    final BigInteger[] sum = add(p1, p2);
+    BigInteger[] result = null;
+    for (int i = Math.max(k1.bitLength(), k2.bitLength()) - 1; i >= 0; i--) {
+      result = doublePoint(result);
+      final boolean bit1 = k1.testBit(i);
+      final boolean bit2 = k2.testBit(i);
+      if (bit1 && bit2) {
+        result = add(result, sum);
+      } else if (bit1) {
+        result = add(result, p1);
+      } else if (bit2) {
+        result = add(result, p2);
+      }
+    }
+    return result;
+  }
+
+  private static BigInteger[] doublePoint(final BigInteger[] point) {
+    if (point == null || point[1].signum() == 0) {
+      return null;
+    }
+    final BigInteger a = point[0].multiply(point[0]).mod(P);
+    final BigInteger b = point[1].multiply(point[1]).mod(P);
+    final BigInteger c = b.multiply(b).mod(P);
+    final BigInteger xPlusB = point[0].add(b);
+    final BigInteger d = xPlusB.multiply(xPlusB).subtract(a).subtract(c).shiftLeft(1).mod(P);
+    final BigInteger e = a.multiply(BigInteger.valueOf(3)).mod(P);
+    final BigInteger f = e.multiply(e).mod(P);
+    final BigInteger x3 = f.subtract(d.shiftLeft(1)).mod(P);
+    final BigInteger y3 = e.multiply(d.subtract(x3)).subtract(c.shiftLeft(3)).mod(P);
+    final BigInteger z3 = point[1].multiply(point[2]).shiftLeft(1).mod(P);
+    return new BigInteger[] {x3, y3, z3};
+  }
+
+  private static BigInteger[] add(final BigInteger[] p1, final BigInteger[] p2) {
+    if (p1 == null) {
+      return p2;
+    }
+    if (p2 == null) {
+      return p1;
+    }
+    final BigInteger z1z1 = p1[2].multiply(p1[2]).mod(P);
+    final BigInteger z2z2 = p2[2].multiply(p2[2]).mod(P);
+    final BigInteger u1 = p1[0].multiply(z2z2).mod(P);
+    final BigInteger u2 = p2[0].multiply(z1z1).mod(P);
+    final BigInteger s1 = p1[1].multiply(p2[2]).multiply(z2z2).mod(P);
+    final BigInteger s2 = p2[1].multiply(p1[2]).multiply(z1z1).mod(P);
+    if (u1.equals(u2)) {
+      return s1.equals(s2) ? doublePoint(p1) : null;
+    }
+    final BigInteger h = u2.subtract(u1).mod(P);
+    final BigInteger i = h.shiftLeft(1).pow(2).mod(P);
+    final BigInteger j = h.multiply(i).mod(P);
+    final BigInteger r = s2.subtract(s1).shiftLeft(1).mod(P);
+    final BigInteger v = u1.multiply(i).mod(P);
+    final BigInteger x3 = r.multiply(r).subtract(j).subtract(v.shiftLeft(1)).mod(P);
+    final BigInteger y3 = r.multiply(v.subtract(x3)).subtract(s1.multiply(j).shiftLeft(1)).mod(P);
+    final BigInteger z1PlusZ2 = p1[2].add(p2[2]);
+    final BigInteger z3 =
+        z1PlusZ2.multiply(z1PlusZ2).subtract(z1z1).subtract(z2z2).multiply(h).mod(P);
+    return new BigInteger[] {x3, y3, z3};
+  }
+
+  private static void copyUnsigned(final BigInteger value, final byte[] dst, final int offset) {
+    final byte[] bytes = value.toByteArray();
+    final int length = Math.min(bytes.length, 32);
+    System.arraycopy(bytes, bytes.length - length, dst, offset + 32 - length, length);
+  }
+}
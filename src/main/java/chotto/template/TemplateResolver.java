@@ -1,6 +1,6 @@
 package chotto.template;
 
-import chotto.objects.BatchTranscript;
+import chotto.objects.BatchTranscriptParameters;
 import chotto.objects.SubContributionContext;
 import gg.jte.CodeResolver;
 import gg.jte.ContentType;
@@ -21,13 +21,16 @@ public class TemplateResolver {
   }
 
   public String createTypedData(
-      final BatchTranscript batchTranscript,
+      final BatchTranscriptParameters batchTranscriptParameters,
       final List<SubContributionContext> subContributionContexts) {
     final TemplateOutput output = new StringOutput();
     templateEngine.render(
         "typedData.jte",
         Map.of(
-            "batchTranscript", batchTranscript, "subContributionContexts", subContributionContexts),
+            "batchTranscriptParameters",
+            batchTranscriptParameters,
+            "subContributionContexts",
+            subContributionContexts),
         output);
     return output.toString();
   }
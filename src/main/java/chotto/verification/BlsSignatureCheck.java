@@ -0,0 +1,199 @@
+package chotto.verification;
+
+import chotto.Constants;
+import chotto.objects.BatchTranscript;
+import chotto.objects.BlsSignature;
+import chotto.objects.G1Point;
+import chotto.objects.G2Point;
+import chotto.objects.Pairings;
+import chotto.objects.Witness;
+import chotto.parallel.ChunkedTasks;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Verifies the BLS signatures of the participant identities, i.e. e(blsSignatures[i], G2) =
+ * e(H(participantIds[i]), potPubkeys[i]), skipping participants who didn't sign. Every identity is
+ * hashed once for all sub-ceremonies.
+ */
+class BlsSignatureCheck {
+
+  private static final Logger LOG = LoggerFactory.getLogger(BlsSignatureCheck.class);
+
+  static final int SCALAR_BITS = 64;
+  static final int SCALAR_BYTES = SCALAR_BITS / Byte.SIZE;
+
+  static final int BATCH_SIZE = 256;
+  // hashing to the curve is cheap compared to a batch, so smaller chunks balance better
+  static final int HASH_CHUNK_SIZE = 64;
+
+  private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+
+  private final ForkJoinPool forkJoinPool;
+
+  BlsSignatureCheck(final ForkJoinPool forkJoinPool) {
+    this.forkJoinPool = forkJoinPool;
+  }
+
+  boolean allValid(final BatchTranscript batchTranscript) {
+    return allValid(batchTranscript, 0);
+  }
+
+  /** Checks the signatures of the participants from {@code firstParticipant} onwards. */
+  boolean allValid(final BatchTranscript batchTranscript, final int firstParticipant) {
+    final List<String> participantIds = batchTranscript.getParticipantIds();
+    final G1Point[] hashedIds = hashParticipantIds(participantIds, firstParticipant);
+    for (int t = 0; t < batchTranscript.getTranscripts().size(); t++) {
+      final Witness witness = batchTranscript.getTranscripts().get(t).getWitness();
+      final List<G2Point> potPubkeys = witness.getPotPubkeys();
+      final List<BlsSignature> blsSignatures = witness.getBlsSignatures();
+      // the initial entry of the witness may not have a participant id
+      final int offset = potPubkeys.size() - participantIds.size();
+      if ((offset != 0 && offset != 1) || blsSignatures.size() != potPubkeys.size()) {
+        LOG.error(
+            "Transcript {} has {} PoT pubkeys and {} BLS signatures for {} participants",
+            t,
+            potPubkeys.size(),
+            blsSignatures.size(),
+            participantIds.size());
+        return false;
+      }
+      final int[] signedParticipants =
+          IntStream.range(firstParticipant + offset, potPubkeys.size())
+              .filter(i -> blsSignatures.get(i) != null && hashedIds[i - offset] != null)
+              .toArray();
+      final OptionalInt invalidParticipant =
+          findInvalidSignature(
+              signedParticipants, index -> hashedIds[index - offset], potPubkeys, blsSignatures);
+      if (invalidParticipant.isPresent()) {
+        LOG.error(
+            "The BLS signature of participant {} ({}) in transcript {} is not valid",
+            invalidParticipant.getAsInt(),
+            participantIds.get(invalidParticipant.getAsInt() - offset),
+            t);
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private G1Point[] hashParticipantIds(
+      final List<String> participantIds, final int firstParticipant) {
+    final G1Point[] hashedIds = new G1Point[participantIds.size()];
+    ChunkedTasks.runInChunks(
+        forkJoinPool,
+        Math.max(participantIds.size() - firstParticipant, 0),
+        HASH_CHUNK_SIZE,
+        (start, end) -> {
+          for (int i = firstParticipant + start; i < firstParticipant + end; i++) {
+            final String participantId = participantIds.get(i);
+            if (!participantId.isEmpty()) {
+              hashedIds[i] =
+                  G1Point.hashToCurve(
+                      participantId.getBytes(StandardCharsets.UTF_8),
+                      Constants.IRTF_BLS_CYPHERSUITE);
+            }
+          }
+        });
+    return hashedIds;
+  }
+
+  /**
+   * Returns the index of a participant whose signature is not valid. If there are several, any one
+   * of them may be returned.
+   */
+  OptionalInt findInvalidSignature(
+      final int[] signedParticipants,
+      final HashedIds hashedIds,
+      final List<G2Point> potPubkeys,
+      final List<BlsSignature> blsSignatures) {
+    if (signedParticipants.length == 0) {
+      return OptionalInt.empty();
+    }
+    final AtomicInteger invalidParticipant = new AtomicInteger(-1);
+    ChunkedTasks.runInChunks(
+        forkJoinPool,
+        signedParticipants.length,
+        BATCH_SIZE,
+        (start, end) -> {
+          if (invalidParticipant.get() >= 0) {
+            return;
+          }
+          final int[] batch = Arrays.copyOfRange(signedParticipants, start, end);
+          checkBatch(batch, hashedIds, potPubkeys, blsSignatures)
+              .ifPresent(participant -> invalidParticipant.compareAndSet(-1, participant));
+        });
+    final int participant = invalidParticipant.get();
+    return participant >= 0 ? OptionalInt.of(participant) : OptionalInt.empty();
+  }
+
+  private OptionalInt checkBatch(
+      final int[] batch,
+      final HashedIds hashedIds,
+      final List<G2Point> potPubkeys,
+      final List<BlsSignature> blsSignatures) {
+    final List<G1Point> signatures = new ArrayList<>(batch.length);
+    for (final int participant : batch) {
+      final G1Point signature = blsSignatures.get(participant).toG1Point();
+      if (!signature.isInPrimeSubgroup()) {
+        return OptionalInt.of(participant);
+      }
+      signatures.add(signature);
+    }
+    // the PoT pubkeys are read twice if the batch fails, so they are decoded once for the batch
+    final List<G2Point> batchPotPubkeys = new ArrayList<>(batch.length);
+    for (final int participant : batch) {
+      batchPotPubkeys.add(potPubkeys.get(participant));
+    }
+    if (batchPasses(batch, signatures, hashedIds, batchPotPubkeys)) {
+      return OptionalInt.empty();
+    }
+    for (int i = 0; i < batch.length; i++) {
+      final int participant = batch[i];
+      if (!Pairings.pairingsEqual(
+          signatures.get(i),
+          G2Point.generator(),
+          hashedIds.get(participant),
+          batchPotPubkeys.get(i))) {
+        return OptionalInt.of(participant);
+      }
+    }
+    // only possible if the batch failed because of an unlucky choice of scalars
+    return OptionalInt.empty();
+  }
+
+  private boolean batchPasses(
+      final int[] batch,
+      final List<G1Point> signatures,
+      final HashedIds hashedIds,
+      final List<G2Point> batchPotPubkeys) {
+    final byte[] scalars = new byte[batch.length * SCALAR_BYTES];
+    SECURE_RANDOM.nextBytes(scalars);
+    final G1Point combination = G1Point.linearCombination(signatures, scalars, SCALAR_BITS);
+    final List<G1Point> scaledHashedIds = new ArrayList<>(batch.length);
+    for (int i = 0; i < batch.length; i++) {
+      final int offset = i * SCALAR_BYTES;
+      scaledHashedIds.add(
+          hashedIds
+              .get(batch[i])
+              .mul(Arrays.copyOfRange(scalars, offset, offset + SCALAR_BYTES), SCALAR_BITS));
+    }
+    return Pairings.pairingEqualsProduct(
+        combination, G2Point.generator(), scaledHashedIds, batchPotPubkeys);
+  }
+
+  /** The hashed identity of the participant at an index of the witness. */
+  @FunctionalInterface
+  interface HashedIds {
+    G1Point get(int participant);
+  }
+}
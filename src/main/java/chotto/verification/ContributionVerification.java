@@ -2,15 +2,22 @@ package chotto.verification;
 
 import chotto.objects.BatchContribution;
 import chotto.objects.Contribution;
-import chotto.objects.G1Point;
-import chotto.objects.G2Point;
 import chotto.objects.PowersOfTau;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.networknt.schema.JsonSchema;
 import com.networknt.schema.ValidationMessage;
+import com.pivovarit.function.ThrowingSupplier;
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -19,11 +26,20 @@ public class ContributionVerification {
   private static final Logger LOG = LoggerFactory.getLogger(ContributionVerification.class);
 
   private final JsonSchema contributionSchema;
+  private final JsonNode contributionSchemaJson;
   private final ObjectMapper objectMapper;
+  private final ForkJoinPool forkJoinPool;
 
   public ContributionVerification(final ObjectMapper objectMapper) {
+    this(objectMapper, ForkJoinPool.commonPool());
+  }
+
+  public ContributionVerification(
+      final ObjectMapper objectMapper, final ForkJoinPool forkJoinPool) {
     this.contributionSchema = SchemaLoader.loadContributionSchema();
+    this.contributionSchemaJson = SchemaLoader.loadContributionSchemaJson();
     this.objectMapper = objectMapper;
+    this.forkJoinPool = forkJoinPool;
   }
 
   public boolean schemaCheck(final String contributionJson) {
@@ -34,31 +50,69 @@ public class ContributionVerification {
       throw new UncheckedIOException(ex);
     }
     if (!validationMessages.isEmpty()) {
-      LOG.error(
-          "Error(s) when verifying the received contribution against the schema: "
-              + validationMessages);
+      logSchemaErrors(validationMessages);
       return false;
     }
     return true;
   }
 
-  public boolean pointChecks(final BatchContribution batchContribution) {
-    return batchContribution.getContributions().stream()
-        .map(Contribution::getPowersOfTau)
-        .allMatch(this::verifyPowersOfTau);
+  /**
+   * Checks the contribution against the schema while binding it, so the json is parsed only once
+   * instead of once for {@link #schemaCheck(String)} and once more for binding.
+   *
+   * @return the bound contribution or empty if it doesn't match the schema
+   */
+  public Optional<BatchContribution> schemaCheckAndBind(final String contributionJson) {
+    return schemaCheckAndBind(() -> objectMapper.getFactory().createParser(contributionJson));
   }
 
-  private boolean verifyPowersOfTau(final PowersOfTau powersOfTau) {
-    for (final G1Point g1Power : powersOfTau.getG1Powers()) {
-      if (!g1Power.isInPrimeSubgroup()) {
-        return false;
+  /**
+   * Same as {@link #schemaCheckAndBind(String)}, but parses the contribution incrementally while it
+   * is read from the stream.
+   */
+  public Optional<BatchContribution> schemaCheckAndBind(final InputStream contributionJson) {
+    return schemaCheckAndBind(() -> objectMapper.getFactory().createParser(contributionJson));
+  }
+
+  private Optional<BatchContribution> schemaCheckAndBind(
+      final ThrowingSupplier<JsonParser, IOException> parserSupplier) {
+    try (final SchemaValidatingParser parser =
+        new SchemaValidatingParser(parserSupplier.get(), contributionSchemaJson)) {
+      BatchContribution batchContribution = null;
+      try {
+        batchContribution = objectMapper.readValue(parser, BatchContribution.class);
+      } catch (final JsonProcessingException ex) {
+        // some schema violations also make the binding fail, in which case the schema errors are
+        // reported instead
+        if (parser.getErrors().isEmpty()) {
+          throw ex;
+        }
       }
-    }
-    for (final G2Point g2Power : powersOfTau.getG2Powers()) {
-      if (!g2Power.isInPrimeSubgroup()) {
-        return false;
+      if (!parser.getErrors().isEmpty()) {
+        logSchemaErrors(parser.getErrors());
+        return Optional.empty();
       }
+      return Optional.of(batchContribution);
+    } catch (final IOException ex) {
+      throw new UncheckedIOException(ex);
     }
-    return true;
+  }
+
+  public boolean pointChecks(final BatchContribution batchContribution) {
+    final SubgroupChecks subgroupChecks = new SubgroupChecks(forkJoinPool);
+    final List<Contribution> contributions = batchContribution.getContributions();
+    for (int i = 0; i < contributions.size(); i++) {
+      final PowersOfTau powersOfTau = contributions.get(i).getPowersOfTau();
+      subgroupChecks
+          .addG1("G1 powers of contribution " + i, Arrays.asList(powersOfTau.getG1Powers()))
+          .addG2("G2 powers of contribution " + i, Arrays.asList(powersOfTau.getG2Powers()));
+    }
+    return subgroupChecks.allInPrimeSubgroup();
+  }
+
+  private void logSchemaErrors(final Set<?> validationErrors) {
+    LOG.error(
+        "Error(s) when verifying the received contribution against the schema: {}",
+        validationErrors);
   }
 }
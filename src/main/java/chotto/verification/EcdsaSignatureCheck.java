@@ -0,0 +1,113 @@
+package chotto.verification;
+
+import chotto.objects.BatchTranscript;
+import chotto.objects.BatchTranscriptParameters;
+import chotto.objects.G2Point;
+import chotto.objects.Transcript;
+import chotto.parallel.ChunkedTasks;
+import chotto.sign.PotPubkeysTypedData;
+import chotto.sign.Secp256k1;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.tuweni.bytes.Bytes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Verifies the ECDSA signatures of the participants who logged in with an Ethereum address over the
+ * {@link PotPubkeysTypedData} of their PoT pubkeys. Participants who didn't sign are skipped.
+ */
+class EcdsaSignatureCheck {
+
+  private static final Logger LOG = LoggerFactory.getLogger(EcdsaSignatureCheck.class);
+
+  static final String ETH_ID_PREFIX = "eth|";
+
+  static final int CHUNK_SIZE = 64;
+
+  private final ForkJoinPool forkJoinPool;
+
+  EcdsaSignatureCheck(final ForkJoinPool forkJoinPool) {
+    this.forkJoinPool = forkJoinPool;
+  }
+
+  boolean allValid(final BatchTranscript batchTranscript) {
+    return allValid(batchTranscript, 0);
+  }
+
+  /** Checks the signatures of the participants from {@code firstParticipant} onwards. */
+  boolean allValid(final BatchTranscript batchTranscript, final int firstParticipant) {
+    final List<String> participantIds = batchTranscript.getParticipantIds();
+    final List<String> ecdsaSignatures = batchTranscript.getParticipantEcdsaSignatures();
+    if (ecdsaSignatures.size() != participantIds.size()) {
+      LOG.error(
+          "There are {} ECDSA signatures for {} participants",
+          ecdsaSignatures.size(),
+          participantIds.size());
+      return false;
+    }
+    final List<List<G2Point>> potPubkeys = new ArrayList<>();
+    final List<Integer> offsets = new ArrayList<>();
+    for (int t = 0; t < batchTranscript.getTranscripts().size(); t++) {
+      final Transcript transcript = batchTranscript.getTranscripts().get(t);
+      final List<G2Point> transcriptPotPubkeys = transcript.getWitness().getPotPubkeys();
+      // the initial entry of the witness may not have a participant id
+      final int offset = transcriptPotPubkeys.size() - participantIds.size();
+      if (offset != 0 && offset != 1) {
+        LOG.error(
+            "Transcript {} has {} PoT pubkeys for {} participants",
+            t,
+            transcriptPotPubkeys.size(),
+            participantIds.size());
+        return false;
+      }
+      potPubkeys.add(transcriptPotPubkeys);
+      offsets.add(offset);
+    }
+    final BatchTranscriptParameters batchTranscriptParameters =
+        BatchTranscriptParameters.fromBatchTranscript(batchTranscript);
+    return ChunkedTasks.allMatchInChunks(
+        forkJoinPool,
+        Math.max(participantIds.size() - firstParticipant, 0),
+        CHUNK_SIZE,
+        i -> {
+          final int participant = firstParticipant + i;
+          final String participantId = participantIds.get(participant);
+          final String ecdsaSignature = ecdsaSignatures.get(participant);
+          if (!participantId.startsWith(ETH_ID_PREFIX)
+              || ecdsaSignature == null
+              || ecdsaSignature.isEmpty()) {
+            return true;
+          }
+          final List<G2Point> participantPotPubkeys = new ArrayList<>(potPubkeys.size());
+          for (int t = 0; t < potPubkeys.size(); t++) {
+            participantPotPubkeys.add(potPubkeys.get(t).get(participant + offsets.get(t)));
+          }
+          final byte[] hash =
+              PotPubkeysTypedData.hash(batchTranscriptParameters, participantPotPubkeys);
+          final Optional<String> signerMaybe = recoverSigner(hash, ecdsaSignature);
+          final String address = participantId.substring(ETH_ID_PREFIX.length());
+          if (signerMaybe.isEmpty() || !signerMaybe.get().equalsIgnoreCase(address)) {
+            LOG.error(
+                "The ECDSA signature of participant {} ({}) was made by {}",
+                participant,
+                participantId,
+                signerMaybe.orElse("an invalid signature"));
+            return false;
+          }
+          return true;
+        },
+        new AtomicBoolean());
+  }
+
+  private Optional<String> recoverSigner(final byte[] hash, final String ecdsaSignature) {
+    try {
+      return Secp256k1.recoverAddress(hash, Bytes.fromHexString(ecdsaSignature).toArrayUnsafe());
+    } catch (final IllegalArgumentException ex) {
+      return Optional.empty();
+    }
+  }
+}
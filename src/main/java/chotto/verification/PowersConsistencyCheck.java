@@ -0,0 +1,126 @@
+package chotto.verification;
+
+import chotto.objects.AffinePoints;
+import chotto.objects.G1Point;
+import chotto.objects.G2Point;
+import chotto.objects.Pairings;
+import chotto.objects.PowersOfTau;
+import chotto.parallel.ChunkedTasks;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Checks that e(G1[i + 1], G2[0]) = e(G1[i], G2[1]) and e(G1[0], G2[i + 1]) = e(G1[1], G2[i]) for
+ * all i, combining the equations of each group with random {@value #SCALAR_BITS}-bit scalars. The
+ * powers are expected to be in the prime subgroup already.
+ */
+class PowersConsistencyCheck {
+
+  private static final Logger LOG = LoggerFactory.getLogger(PowersConsistencyCheck.class);
+
+  static final int SCALAR_BITS = 64;
+  static final int SCALAR_BYTES = SCALAR_BITS / Byte.SIZE;
+
+  // a multi-scalar multiplication gets cheaper per point with its size, so chunks are big
+  static final int CHUNK_SIZE = 4096;
+
+  private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+
+  private final ForkJoinPool forkJoinPool;
+
+  PowersConsistencyCheck(final ForkJoinPool forkJoinPool) {
+    this.forkJoinPool = forkJoinPool;
+  }
+
+  boolean isConsistent(final PowersOfTau powersOfTau) {
+    final List<G1Point> g1Powers = Arrays.asList(powersOfTau.getG1Powers());
+    final List<G2Point> g2Powers = Arrays.asList(powersOfTau.getG2Powers());
+    if (g1Powers.size() < 2 || g2Powers.size() < 2) {
+      LOG.error("There must be at least two G1 and two G2 powers");
+      return false;
+    }
+    if (!g1Powers.get(0).equals(G1Point.generator())
+        || !g2Powers.get(0).equals(G2Point.generator())) {
+      LOG.error("The first powers are not the generators");
+      return false;
+    }
+    try {
+      final Combinations<G1Point> g1Combinations =
+          combineConsecutive(g1Powers, G1Point::toAffine, G1Point::add);
+      if (!Pairings.pairingsEqual(
+          g1Combinations.next, g2Powers.get(0), g1Combinations.current, g2Powers.get(1))) {
+        LOG.error("The G1 powers are not successive powers of tau");
+        return false;
+      }
+      final Combinations<G2Point> g2Combinations =
+          combineConsecutive(g2Powers, G2Point::toAffine, G2Point::add);
+      if (!Pairings.pairingsEqual(
+          g1Powers.get(0), g2Combinations.next, g1Powers.get(1), g2Combinations.current)) {
+        LOG.error("The G2 powers are not successive powers of tau");
+        return false;
+      }
+    } catch (final IllegalArgumentException ex) {
+      LOG.error("The powers contain an invalid point", ex);
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Returns sum r_i * points[i] and sum r_i * points[i + 1] for i in [0, n - 1) with the same
+   * random scalars.
+   */
+  private <T> Combinations<T> combineConsecutive(
+      final List<T> points,
+      final Function<List<T>, AffinePoints<T>> toAffine,
+      final BinaryOperator<T> add) {
+    final int numberOfEquations = points.size() - 1;
+    final byte[] scalars = new byte[numberOfEquations * SCALAR_BYTES];
+    SECURE_RANDOM.nextBytes(scalars);
+    final List<Combinations<T>> partialCombinations = new ArrayList<>();
+    ChunkedTasks.runInChunks(
+        forkJoinPool,
+        numberOfEquations,
+        CHUNK_SIZE,
+        (start, end) -> {
+          final byte[] chunkScalars =
+              Arrays.copyOfRange(scalars, start * SCALAR_BYTES, end * SCALAR_BYTES);
+          // the points of the chunk and the ones shifted by one are converted to affine once
+          final AffinePoints<T> affinePoints = toAffine.apply(points.subList(start, end + 1));
+          final int size = end - start;
+          final Combinations<T> combinations =
+              new Combinations<>(
+                  affinePoints.slice(0, size).linearCombination(chunkScalars, SCALAR_BITS),
+                  affinePoints.slice(1, size + 1).linearCombination(chunkScalars, SCALAR_BITS));
+          synchronized (partialCombinations) {
+            partialCombinations.add(combinations);
+          }
+        });
+    // the order of the chunks doesn't matter for the sums
+    return partialCombinations.stream()
+        .reduce(
+            (left, right) ->
+                new Combinations<>(
+                    add.apply(left.current, right.current), add.apply(left.next, right.next)))
+        .orElseThrow();
+  }
+
+  private static class Combinations<T> {
+
+    // the combination of the powers and the one of the powers shifted by one
+    private final T current;
+    private final T next;
+
+    private Combinations(final T current, final T next) {
+      this.current = current;
+      this.next = next;
+    }
+  }
+}
@@ -1,9 +1,13 @@
 package chotto.verification;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.networknt.schema.JsonSchema;
 import com.networknt.schema.JsonSchemaFactory;
 import com.networknt.schema.SpecVersion.VersionFlag;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
 
 public class SchemaLoader {
 
@@ -12,6 +16,8 @@ public class SchemaLoader {
   private static final JsonSchemaFactory FACTORY =
       JsonSchemaFactory.getInstance(VersionFlag.V202012);
 
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
   public static JsonSchema loadContributionSchema() {
     return FACTORY.getSchema(getResource("contributionSchema.json"));
   }
@@ -20,6 +26,22 @@ public class SchemaLoader {
     return FACTORY.getSchema(getResource("transcriptSchema.json"));
   }
 
+  public static JsonNode loadContributionSchemaJson() {
+    return readJson("contributionSchema.json");
+  }
+
+  public static JsonNode loadTranscriptSchemaJson() {
+    return readJson("transcriptSchema.json");
+  }
+
+  private static JsonNode readJson(final String resource) {
+    try (final InputStream resourceIs = getResource(resource)) {
+      return OBJECT_MAPPER.readTree(resourceIs);
+    } catch (final IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
   private static InputStream getResource(final String resource) {
     return Thread.currentThread().getContextClassLoader().getResourceAsStream(resource);
   }
@@ -0,0 +1,330 @@
+package chotto.verification;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.util.JsonParserDelegate;
+import com.fasterxml.jackson.databind.JsonNode;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * A parser which validates every token against a JSON schema as it is consumed, so that the schema
+ * check and the binding take a single pass. Only the keywords used by the contribution and
+ * transcript schemas are supported.
+ */
+class SchemaValidatingParser extends JsonParserDelegate {
+
+  private final JsonNode rootSchema;
+  private final Set<String> errors = new LinkedHashSet<>();
+  private final Deque<Frame> frames = new ArrayDeque<>();
+  private final Map<String, Pattern> patterns = new HashMap<>();
+
+  // the schema and the path of the value following the last field name
+  private JsonNode fieldSchema;
+  private String fieldPath;
+
+  SchemaValidatingParser(final JsonParser delegate, final JsonNode rootSchema) {
+    super(delegate);
+    this.rootSchema = rootSchema;
+  }
+
+  Set<String> getErrors() {
+    return errors;
+  }
+
+  @Override
+  public JsonToken nextToken() throws IOException {
+    final JsonToken token = delegate.nextToken();
+    if (token != null) {
+      onToken(token);
+    }
+    return token;
+  }
+
+  @Override
+  public JsonToken nextValue() throws IOException {
+    final JsonToken token = nextToken();
+    return token == JsonToken.FIELD_NAME ? nextToken() : token;
+  }
+
+  @Override
+  public String nextFieldName() throws IOException {
+    return nextToken() == JsonToken.FIELD_NAME ? getCurrentName() : null;
+  }
+
+  @Override
+  public boolean nextFieldName(final SerializableString str) throws IOException {
+    return nextToken() == JsonToken.FIELD_NAME && str.getValue().equals(getCurrentName());
+  }
+
+  @Override
+  public String nextTextValue() throws IOException {
+    return nextToken() == JsonToken.VALUE_STRING ? getText() : null;
+  }
+
+  // the children have to go through nextToken() as well in order to be validated
+  @Override
+  public JsonParser skipChildren() throws IOException {
+    final JsonToken currentToken = currentToken();
+    if (currentToken != JsonToken.START_OBJECT && currentToken != JsonToken.START_ARRAY) {
+      return this;
+    }
+    int open = 1;
+    while (open > 0) {
+      final JsonToken token = nextToken();
+      if (token == null) {
+        break;
+      }
+      if (token.isStructStart()) {
+        open++;
+      } else if (token.isStructEnd()) {
+        open--;
+      }
+    }
+    return this;
+  }
+
+  private void onToken(final JsonToken token) throws IOException {
+    switch (token) {
+      case FIELD_NAME:
+        onFieldName(delegate.getCurrentName());
+        break;
+      case END_OBJECT:
+        checkRequired(frames.pop());
+        break;
+      case END_ARRAY:
+        checkNumberOfItems(frames.pop());
+        break;
+      default:
+        onValue(token);
+    }
+  }
+
+  private void onFieldName(final String fieldName) {
+    final Frame frame = frames.peek();
+    fieldPath = frame.path + "." + fieldName;
+    if (frame.schema == null) {
+      fieldSchema = null;
+      return;
+    }
+    frame.fieldNames.add(fieldName);
+    final JsonNode properties = frame.schema.get("properties");
+    fieldSchema = properties == null ? null : resolve(properties.get(fieldName));
+  }
+
+  private void onValue(final JsonToken token) throws IOException {
+    JsonNode schema;
+    final String path;
+    final Frame parent = frames.peek();
+    if (parent == null) {
+      schema = resolve(rootSchema);
+      path = "$";
+    } else if (parent.isArray) {
+      final int index = parent.numberOfItems++;
+      path = parent.path + "[" + index + "]";
+      schema = getItemSchema(parent, index, path);
+    } else {
+      schema = fieldSchema;
+      path = fieldPath;
+    }
+    if (token.isStructStart()) {
+      if (schema != null && !checkType(schema, path, token, errors)) {
+        // no further validation of the children if the value itself is already invalid
+        schema = null;
+      }
+      frames.push(new Frame(schema, path, token == JsonToken.START_ARRAY));
+    } else if (schema != null) {
+      validateScalar(schema, path, token, errors);
+    }
+  }
+
+  private JsonNode getItemSchema(final Frame arrayFrame, final int index, final String path) {
+    if (arrayFrame.schema == null) {
+      return null;
+    }
+    final JsonNode prefixItems = arrayFrame.schema.get("prefixItems");
+    if (prefixItems != null && index < prefixItems.size()) {
+      return resolve(prefixItems.get(index));
+    }
+    final JsonNode items = arrayFrame.schema.get("items");
+    if (items != null && items.isBoolean()) {
+      if (!items.asBoolean()) {
+        errors.add(
+            String.format(
+                "%s: index '%d' is not defined in the schema and the schema does not allow"
+                    + " additional items",
+                arrayFrame.path, index));
+      }
+      return null;
+    }
+    return resolve(items);
+  }
+
+  private void validateScalar(
+      final JsonNode schema, final String path, final JsonToken token, final Collection<String> out)
+      throws IOException {
+    if (!checkType(schema, path, token, out)) {
+      return;
+    }
+    if (token == JsonToken.VALUE_STRING && schema.has("pattern")) {
+      final String pattern = schema.get("pattern").asText();
+      if (!patterns.computeIfAbsent(pattern, Pattern::compile).matcher(getText()).find()) {
+        out.add(String.format("%s: does not match the regex pattern %s", path, pattern));
+      }
+    }
+    if (token.isNumeric()) {
+      final BigDecimal value = getDecimalValue();
+      if (schema.has("minimum") && value.compareTo(schema.get("minimum").decimalValue()) < 0) {
+        out.add(String.format("%s: must have a minimum value of %s", path, schema.get("minimum")));
+      }
+      if (schema.has("maximum") && value.compareTo(schema.get("maximum").decimalValue()) > 0) {
+        out.add(String.format("%s: must have a maximum value of %s", path, schema.get("maximum")));
+      }
+    }
+    if (schema.has("anyOf")) {
+      final List<String> subschemasErrors = new ArrayList<>();
+      if (countValidSubschemas(schema.get("anyOf"), path, token, subschemasErrors) == 0) {
+        out.addAll(subschemasErrors);
+      }
+    }
+    if (schema.has("oneOf")) {
+      final int validSubschemas =
+          countValidSubschemas(schema.get("oneOf"), path, token, new ArrayList<>());
+      if (validSubschemas != 1) {
+        out.add(
+            String.format(
+                "%s: should be valid to one and only one schema, but %d are valid",
+                path, validSubschemas));
+      }
+    }
+  }
+
+  private int countValidSubschemas(
+      final JsonNode subschemas,
+      final String path,
+      final JsonToken token,
+      final Collection<String> subschemasErrors)
+      throws IOException {
+    int validSubschemas = 0;
+    for (final JsonNode subschema : subschemas) {
+      final List<String> subschemaErrors = new ArrayList<>();
+      validateScalar(resolve(subschema), path, token, subschemaErrors);
+      if (subschemaErrors.isEmpty()) {
+        validSubschemas++;
+      }
+      subschemasErrors.addAll(subschemaErrors);
+    }
+    return validSubschemas;
+  }
+
+  private boolean checkType(
+      final JsonNode schema,
+      final String path,
+      final JsonToken token,
+      final Collection<String> out) {
+    if (!schema.has("type")) {
+      return true;
+    }
+    final String expectedType = schema.get("type").asText();
+    final String actualType = getType(token);
+    final boolean matches =
+        expectedType.equals(actualType)
+            || (expectedType.equals("number") && actualType.equals("integer"));
+    if (!matches) {
+      out.add(String.format("%s: %s found, %s expected", path, actualType, expectedType));
+    }
+    return matches;
+  }
+
+  private void checkRequired(final Frame objectFrame) {
+    if (objectFrame.schema == null || !objectFrame.schema.has("required")) {
+      return;
+    }
+    for (final JsonNode required : objectFrame.schema.get("required")) {
+      if (!objectFrame.fieldNames.contains(required.asText())) {
+        errors.add(
+            String.format(
+                "%s.%s: is missing but it is required", objectFrame.path, required.asText()));
+      }
+    }
+  }
+
+  private void checkNumberOfItems(final Frame arrayFrame) {
+    if (arrayFrame.schema == null) {
+      return;
+    }
+    final JsonNode minItems = arrayFrame.schema.get("minItems");
+    if (minItems != null && arrayFrame.numberOfItems < minItems.asInt()) {
+      errors.add(
+          String.format(
+              "%s: there must be a minimum of %d items in the array",
+              arrayFrame.path, minItems.asInt()));
+    }
+    final JsonNode maxItems = arrayFrame.schema.get("maxItems");
+    if (maxItems != null && arrayFrame.numberOfItems > maxItems.asInt()) {
+      errors.add(
+          String.format(
+              "%s: there must be a maximum of %d items in the array",
+              arrayFrame.path, maxItems.asInt()));
+    }
+  }
+
+  private JsonNode resolve(final JsonNode schema) {
+    if (schema == null || !schema.has("$ref")) {
+      return schema;
+    }
+    // only local references to the definitions are used in the schemas
+    final String definition = schema.get("$ref").asText().substring("#/$defs/".length());
+    return rootSchema.get("$defs").get(definition);
+  }
+
+  private String getType(final JsonToken token) {
+    switch (token) {
+      case START_OBJECT:
+        return "object";
+      case START_ARRAY:
+        return "array";
+      case VALUE_STRING:
+        return "string";
+      case VALUE_NUMBER_INT:
+        return "integer";
+      case VALUE_NUMBER_FLOAT:
+        return "number";
+      case VALUE_TRUE:
+      case VALUE_FALSE:
+        return "boolean";
+      case VALUE_NULL:
+        return "null";
+      default:
+        return "unknown";
+    }
+  }
+
+  private static class Frame {
+
+    // null if the value is not constrained by the schema
+    private final JsonNode schema;
+    private final String path;
+    private final boolean isArray;
+    private final Set<String> fieldNames = new HashSet<>();
+    private int numberOfItems = 0;
+
+    private Frame(final JsonNode schema, final String path, final boolean isArray) {
+      this.schema = schema;
+      this.path = path;
+      this.isArray = isArray;
+    }
+  }
+}
@@ -0,0 +1,87 @@
+package chotto.verification;
+
+import chotto.objects.G1Point;
+import chotto.objects.G2Point;
+import chotto.parallel.ChunkedTasks;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs a group of subgroup checks concurrently on a {@link ForkJoinPool}. Each check is split in
+ * chunks and all checks share a single flag, so the first point which is not in the prime subgroup
+ * cancels every remaining chunk of every check.
+ */
+class SubgroupChecks {
+
+  private static final Logger LOG = LoggerFactory.getLogger(SubgroupChecks.class);
+
+  static final int CHUNK_SIZE = 64;
+
+  private final ForkJoinPool forkJoinPool;
+  private final List<Check<?>> checks = new ArrayList<>();
+
+  SubgroupChecks(final ForkJoinPool forkJoinPool) {
+    this.forkJoinPool = forkJoinPool;
+  }
+
+  SubgroupChecks addG1(final String name, final List<G1Point> points) {
+    checks.add(new Check<>(name, points, G1Point::isInPrimeSubgroup));
+    return this;
+  }
+
+  SubgroupChecks addG2(final String name, final List<G2Point> points) {
+    checks.add(new Check<>(name, points, G2Point::isInPrimeSubgroup));
+    return this;
+  }
+
+  boolean allInPrimeSubgroup() {
+    final AtomicBoolean mismatchFound = new AtomicBoolean(false);
+    final List<ForkJoinTask<Boolean>> tasks = new ArrayList<>();
+    for (final Check<?> check : checks) {
+      tasks.add(forkJoinPool.submit(() -> check.run(forkJoinPool, mismatchFound)));
+    }
+    boolean allInPrimeSubgroup = true;
+    for (final ForkJoinTask<Boolean> task : tasks) {
+      allInPrimeSubgroup &= task.join();
+    }
+    return allInPrimeSubgroup;
+  }
+
+  private static class Check<T> {
+
+    private final String name;
+    private final List<T> points;
+    private final Predicate<T> isInPrimeSubgroup;
+
+    private Check(final String name, final List<T> points, final Predicate<T> isInPrimeSubgroup) {
+      this.name = name;
+      this.points = points;
+      this.isInPrimeSubgroup = isInPrimeSubgroup;
+    }
+
+    private boolean run(final ForkJoinPool forkJoinPool, final AtomicBoolean mismatchFound) {
+      final long start = System.nanoTime();
+      final boolean result =
+          ChunkedTasks.allMatchInChunks(
+              forkJoinPool,
+              points.size(),
+              CHUNK_SIZE,
+              index -> isInPrimeSubgroup.test(points.get(index)),
+              mismatchFound);
+      final long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+      if (result) {
+        LOG.debug("Subgroup check of {} ({} points) took {} ms", name, points.size(), elapsedMs);
+      } else {
+        LOG.debug("Subgroup check of {} failed or was cancelled after {} ms", name, elapsedMs);
+      }
+      return result;
+    }
+  }
+}
@@ -0,0 +1,226 @@
+package chotto.verification;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+import chotto.objects.BatchTranscript;
+import chotto.objects.BlsSignature;
+import chotto.objects.G1Point;
+import chotto.objects.G2Point;
+import chotto.objects.Transcript;
+import chotto.objects.Witness;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+import org.apache.tuweni.bytes.Bytes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A persisted summary of a transcript which passed the point checks, so that the next transcript
+ * only needs its appended participants to be verified.
+ */
+class TranscriptCheckpoint {
+
+  private static final Logger LOG = LoggerFactory.getLogger(TranscriptCheckpoint.class);
+
+  static final String NUM_PARTICIPANTS_KEY = "numParticipants";
+  static final String PARTICIPANTS_SHA256_KEY = "participantsSha256";
+  static final String POWERS_SHA256_KEY = "powersSha256";
+  static final String NUM_TRANSCRIPTS_KEY = "numTranscripts";
+  static final String LAST_RUNNING_PRODUCT_KEY_PREFIX = "lastRunningProduct.";
+
+  static TranscriptCheckpoint create(final BatchTranscript batchTranscript) {
+    final int numParticipants = batchTranscript.getParticipantIds().size();
+    final List<G1Point> lastRunningProducts = new ArrayList<>();
+    for (final Transcript transcript : batchTranscript.getTranscripts()) {
+      final List<G1Point> runningProducts = transcript.getWitness().getRunningProducts();
+      lastRunningProducts.add(runningProducts.get(runningProducts.size() - 1));
+    }
+    return new TranscriptCheckpoint(
+        numParticipants,
+        lastRunningProducts,
+        participantsDigest(batchTranscript, numParticipants),
+        powersDigest(batchTranscript));
+  }
+
+  /** Loads a checkpoint, or returns empty if there is none or it can't be read. */
+  static Optional<TranscriptCheckpoint> load(final Path file) {
+    if (!Files.exists(file)) {
+      return Optional.empty();
+    }
+    final Properties properties = new Properties();
+    try (final Reader reader = Files.newBufferedReader(file)) {
+      properties.load(reader);
+      final int numTranscripts = Integer.parseInt(properties.getProperty(NUM_TRANSCRIPTS_KEY));
+      final List<G1Point> lastRunningProducts = new ArrayList<>(numTranscripts);
+      for (int i = 0; i < numTranscripts; i++) {
+        lastRunningProducts.add(
+            G1Point.fromHexString(properties.getProperty(LAST_RUNNING_PRODUCT_KEY_PREFIX + i)));
+      }
+      return Optional.of(
+          new TranscriptCheckpoint(
+              Integer.parseInt(properties.getProperty(NUM_PARTICIPANTS_KEY)),
+              lastRunningProducts,
+              properties.getProperty(PARTICIPANTS_SHA256_KEY),
+              properties.getProperty(POWERS_SHA256_KEY)));
+    } catch (final IOException | RuntimeException ex) {
+      LOG.warn("Couldn't read the transcript checkpoint {}. Ignoring it.", file, ex);
+      return Optional.empty();
+    }
+  }
+
+  private final int numParticipants;
+  private final List<G1Point> lastRunningProducts;
+  private final String participantsDigest;
+  private final String powersDigest;
+
+  TranscriptCheckpoint(
+      final int numParticipants,
+      final List<G1Point> lastRunningProducts,
+      final String participantsDigest,
+      final String powersDigest) {
+    this.numParticipants = numParticipants;
+    this.lastRunningProducts = lastRunningProducts;
+    this.participantsDigest = participantsDigest;
+    this.powersDigest = powersDigest;
+  }
+
+  int getNumParticipants() {
+    return numParticipants;
+  }
+
+  /** Writes the checkpoint to a temporary file first, so that a crash can't leave it truncated. */
+  void save(final Path file) {
+    final Properties properties = new Properties();
+    properties.setProperty(NUM_PARTICIPANTS_KEY, Integer.toString(numParticipants));
+    properties.setProperty(PARTICIPANTS_SHA256_KEY, participantsDigest);
+    properties.setProperty(POWERS_SHA256_KEY, powersDigest);
+    properties.setProperty(NUM_TRANSCRIPTS_KEY, Integer.toString(lastRunningProducts.size()));
+    for (int i = 0; i < lastRunningProducts.size(); i++) {
+      properties.setProperty(
+          LAST_RUNNING_PRODUCT_KEY_PREFIX + i, lastRunningProducts.get(i).toHexString());
+    }
+    final Path tmpFile = file.resolveSibling(file.getFileName() + ".tmp");
+    try {
+      try (final Writer writer = Files.newBufferedWriter(tmpFile)) {
+        properties.store(writer, "Verified transcript checkpoint");
+      }
+      Files.move(tmpFile, file, REPLACE_EXISTING, ATOMIC_MOVE);
+    } catch (final IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  /**
+   * Checks that the transcript starts with the participants of this checkpoint, unchanged, so that
+   * only the participants after them need to be verified.
+   */
+  boolean isExtendedBy(final BatchTranscript batchTranscript) {
+    final int newNumParticipants = batchTranscript.getParticipantIds().size();
+    final List<Transcript> transcripts = batchTranscript.getTranscripts();
+    if (newNumParticipants < numParticipants || transcripts.size() != lastRunningProducts.size()) {
+      return false;
+    }
+    for (int i = 0; i < transcripts.size(); i++) {
+      final Witness witness = transcripts.get(i).getWitness();
+      final List<G1Point> runningProducts = witness.getRunningProducts();
+      final int offset = runningProducts.size() - newNumParticipants;
+      if ((offset != 0 && offset != 1)
+          || numParticipants + offset == 0
+          || witness.getPotPubkeys().size() != runningProducts.size()) {
+        return false;
+      }
+      if (!runningProducts.get(numParticipants + offset - 1).equals(lastRunningProducts.get(i))) {
+        return false;
+      }
+    }
+    return participantsDigest.equals(participantsDigest(batchTranscript, numParticipants));
+  }
+
+  /** Whether the powers of the transcript are the ones which were verified. */
+  boolean hasSamePowers(final BatchTranscript batchTranscript) {
+    return powersDigest.equals(powersDigest(batchTranscript));
+  }
+
+  /**
+   * Hashes the first participants with their entries in the witnesses. Every value is prefixed with
+   * its length, so that different lists of values can't have the same digest.
+   */
+  static String participantsDigest(
+      final BatchTranscript batchTranscript, final int numParticipants) {
+    final MessageDigest digest = newSha256Digest();
+    final List<String> participantIds = batchTranscript.getParticipantIds();
+    final List<String> ecdsaSignatures = batchTranscript.getParticipantEcdsaSignatures();
+    for (int i = 0; i < numParticipants; i++) {
+      updateString(digest, participantIds.get(i));
+      updateString(digest, i < ecdsaSignatures.size() ? ecdsaSignatures.get(i) : null);
+    }
+    for (final Transcript transcript : batchTranscript.getTranscripts()) {
+      final Witness witness = transcript.getWitness();
+      final List<G1Point> runningProducts = witness.getRunningProducts();
+      final List<G2Point> potPubkeys = witness.getPotPubkeys();
+      final List<BlsSignature> blsSignatures = witness.getBlsSignatures();
+      final int numEntries =
+          numParticipants + runningProducts.size() - batchTranscript.getParticipantIds().size();
+      for (int i = 0; i < numEntries; i++) {
+        updateBytes(digest, runningProducts.get(i).toBytesCompressed());
+        updateBytes(digest, potPubkeys.get(i).toBytesCompressed());
+        final BlsSignature blsSignature = i < blsSignatures.size() ? blsSignatures.get(i) : null;
+        updateBytes(digest, blsSignature == null ? Bytes.EMPTY : blsSignature.toBytesCompressed());
+      }
+    }
+    return Bytes.wrap(digest.digest()).toHexString();
+  }
+
+  static String powersDigest(final BatchTranscript batchTranscript) {
+    final MessageDigest digest = newSha256Digest();
+    for (final Transcript transcript : batchTranscript.getTranscripts()) {
+      updateInt(digest, transcript.getNumG1Powers());
+      updateInt(digest, transcript.getNumG2Powers());
+      for (final G1Point g1Power : transcript.getPowersOfTau().getG1Powers()) {
+        updateBytes(digest, g1Power.toBytesCompressed());
+      }
+      for (final G2Point g2Power : transcript.getPowersOfTau().getG2Powers()) {
+        updateBytes(digest, g2Power.toBytesCompressed());
+      }
+    }
+    return Bytes.wrap(digest.digest()).toHexString();
+  }
+
+  private static void updateString(final MessageDigest digest, final String value) {
+    if (value == null) {
+      updateInt(digest, -1);
+      return;
+    }
+    updateBytes(digest, Bytes.wrap(value.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  private static void updateBytes(final MessageDigest digest, final Bytes bytes) {
+    updateInt(digest, bytes.size());
+    digest.update(bytes.toArrayUnsafe());
+  }
+
+  private static void updateInt(final MessageDigest digest, final int value) {
+    digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(value).array());
+  }
+
+  private static MessageDigest newSha256Digest() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (final NoSuchAlgorithmException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+}
@@ -2,13 +2,25 @@ package chotto.verification;
 
 import chotto.objects.BatchTranscript;
 import chotto.objects.G1Point;
+import chotto.objects.G2Point;
 import chotto.objects.Transcript;
+import chotto.objects.Witness;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.networknt.schema.JsonSchema;
 import com.networknt.schema.ValidationMessage;
+import com.pivovarit.function.ThrowingSupplier;
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -17,11 +29,32 @@ public class TranscriptVerification {
   private static final Logger LOG = LoggerFactory.getLogger(TranscriptVerification.class);
 
   private final JsonSchema transcriptSchema;
+  private final JsonNode transcriptSchemaJson;
   private final ObjectMapper objectMapper;
+  private final ForkJoinPool forkJoinPool;
+  private final Optional<Path> checkpointFileMaybe;
 
   public TranscriptVerification(final ObjectMapper objectMapper) {
+    this(objectMapper, ForkJoinPool.commonPool());
+  }
+
+  public TranscriptVerification(final ObjectMapper objectMapper, final ForkJoinPool forkJoinPool) {
+    this(objectMapper, forkJoinPool, Optional.empty());
+  }
+
+  /**
+   * @param checkpointFileMaybe where to persist a {@link TranscriptCheckpoint} of the verified
+   *     transcript, so that only the participants appended to it are verified on the next run
+   */
+  public TranscriptVerification(
+      final ObjectMapper objectMapper,
+      final ForkJoinPool forkJoinPool,
+      final Optional<Path> checkpointFileMaybe) {
     this.transcriptSchema = SchemaLoader.loadTranscriptSchema();
+    this.transcriptSchemaJson = SchemaLoader.loadTranscriptSchemaJson();
     this.objectMapper = objectMapper;
+    this.forkJoinPool = forkJoinPool;
+    this.checkpointFileMaybe = checkpointFileMaybe;
   }
 
   public boolean schemaCheck(final String transcriptJson) {
@@ -32,18 +65,157 @@ public class TranscriptVerification {
       throw new UncheckedIOException(ex);
     }
     if (!validationMessages.isEmpty()) {
-      LOG.error(
-          "Error(s) when verifying the received transcript against the schema: "
-              + validationMessages);
+      logSchemaErrors(validationMessages);
       return false;
     }
     return true;
   }
 
+  /**
+   * Checks the transcript against the schema while binding it, so the json is parsed only once
+   * instead of once for {@link #schemaCheck(String)} and once more for binding.
+   *
+   * @return the bound transcript or empty if it doesn't match the schema
+   */
+  public Optional<BatchTranscript> schemaCheckAndBind(final String transcriptJson) {
+    return schemaCheckAndBind(() -> objectMapper.getFactory().createParser(transcriptJson));
+  }
+
+  /**
+   * Same as {@link #schemaCheckAndBind(String)}, but parses the transcript incrementally while it
+   * is read from the stream.
+   */
+  public Optional<BatchTranscript> schemaCheckAndBind(final InputStream transcriptJson) {
+    return schemaCheckAndBind(() -> objectMapper.getFactory().createParser(transcriptJson));
+  }
+
+  private Optional<BatchTranscript> schemaCheckAndBind(
+      final ThrowingSupplier<JsonParser, IOException> parserSupplier) {
+    try (final SchemaValidatingParser parser =
+        new SchemaValidatingParser(parserSupplier.get(), transcriptSchemaJson)) {
+      BatchTranscript batchTranscript = null;
+      try {
+        batchTranscript = objectMapper.readValue(parser, BatchTranscript.class);
+      } catch (final JsonProcessingException ex) {
+        // some schema violations also make the binding fail, in which case the schema errors are
+        // reported instead
+        if (parser.getErrors().isEmpty()) {
+          throw ex;
+        }
+      }
+      if (!parser.getErrors().isEmpty()) {
+        logSchemaErrors(parser.getErrors());
+        return Optional.empty();
+      }
+      return Optional.of(batchTranscript);
+    } catch (final IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  /**
+   * If a checkpoint file is configured and the transcript extends the checkpointed one, only the
+   * appended participants are checked, together with the powers if they have changed.
+   */
   public boolean pointChecks(final BatchTranscript batchTranscript) {
-    return batchTranscript.getTranscripts().stream()
-        .map(Transcript::getWitness)
-        .flatMap(witness -> witness.getRunningProducts().stream())
-        .allMatch(G1Point::isInPrimeSubgroup);
+    if (checkpointFileMaybe.isEmpty()) {
+      return pointChecks(batchTranscript, 0, true);
+    }
+    final Path checkpointFile = checkpointFileMaybe.get();
+    final Optional<TranscriptCheckpoint> checkpointMaybe =
+        TranscriptCheckpoint.load(checkpointFile);
+    final int numParticipants = batchTranscript.getParticipantIds().size();
+    int firstParticipant = 0;
+    boolean checkPowers = true;
+    if (checkpointMaybe.isPresent()) {
+      final TranscriptCheckpoint checkpoint = checkpointMaybe.get();
+      if (checkpoint.isExtendedBy(batchTranscript)) {
+        firstParticipant = checkpoint.getNumParticipants();
+        checkPowers = !checkpoint.hasSamePowers(batchTranscript);
+        LOG.info(
+            "The first {} participants of the transcript were verified before. Verifying the {}"
+                + " new participants.",
+            firstParticipant,
+            numParticipants - firstParticipant);
+      } else {
+        LOG.warn(
+            "The transcript doesn't extend the verified checkpoint {}. Verifying all of it.",
+            checkpointFile);
+      }
+    }
+    if (!pointChecks(batchTranscript, firstParticipant, checkPowers)) {
+      return false;
+    }
+    if (firstParticipant < numParticipants || checkPowers) {
+      try {
+        TranscriptCheckpoint.create(batchTranscript).save(checkpointFile);
+      } catch (final UncheckedIOException ex) {
+        LOG.warn("Couldn't save the transcript checkpoint {}", checkpointFile, ex);
+      }
+    }
+    return true;
+  }
+
+  private boolean pointChecks(
+      final BatchTranscript batchTranscript,
+      final int firstParticipant,
+      final boolean checkPowers) {
+    final SubgroupChecks subgroupChecks = new SubgroupChecks(forkJoinPool);
+    final List<Transcript> transcripts = batchTranscript.getTranscripts();
+    final int[] firstEntries = new int[transcripts.size()];
+    for (int i = 0; i < transcripts.size(); i++) {
+      final Transcript transcript = transcripts.get(i);
+      final Witness witness = transcript.getWitness();
+      final List<G1Point> runningProducts = witness.getRunningProducts();
+      final List<G2Point> potPubkeys = witness.getPotPubkeys();
+      // the initial entry of the witness may not have a participant id
+      firstEntries[i] =
+          firstParticipant == 0
+              ? 0
+              : firstParticipant
+                  + runningProducts.size()
+                  - batchTranscript.getParticipantIds().size();
+      subgroupChecks
+          .addG1(
+              "running products of transcript " + i,
+              runningProducts.subList(firstEntries[i], runningProducts.size()))
+          .addG2(
+              "PoT pubkeys of transcript " + i,
+              potPubkeys.subList(firstEntries[i], potPubkeys.size()));
+      if (checkPowers) {
+        // the consistency check of the powers relies on the G1 powers being in the subgroup
+        subgroupChecks
+            .addG1(
+                "G1 powers of transcript " + i,
+                Arrays.asList(transcript.getPowersOfTau().getG1Powers()))
+            .addG2(
+                "G2 powers of transcript " + i,
+                Arrays.asList(transcript.getPowersOfTau().getG2Powers()));
+      }
+    }
+    if (!subgroupChecks.allInPrimeSubgroup()) {
+      return false;
+    }
+    final PowersConsistencyCheck powersConsistencyCheck = new PowersConsistencyCheck(forkJoinPool);
+    final WitnessChainCheck witnessChainCheck = new WitnessChainCheck(forkJoinPool);
+    for (int i = 0; i < transcripts.size(); i++) {
+      final Transcript transcript = transcripts.get(i);
+      if (checkPowers && !powersConsistencyCheck.isConsistent(transcript.getPowersOfTau())) {
+        LOG.error("The powers of transcript {} are not consistent", i);
+        return false;
+      }
+      if (!witnessChainCheck.isValid(i, transcript, firstEntries[i])) {
+        return false;
+      }
+    }
+    if (!new BlsSignatureCheck(forkJoinPool).allValid(batchTranscript, firstParticipant)) {
+      return false;
+    }
+    return new EcdsaSignatureCheck(forkJoinPool).allValid(batchTranscript, firstParticipant);
+  }
+
+  private void logSchemaErrors(final Set<?> validationErrors) {
+    LOG.error(
+        "Error(s) when verifying the received transcript against the schema: {}", validationErrors);
   }
 }
@@ -0,0 +1,184 @@
+package chotto.verification;
+
+import chotto.objects.G1Point;
+import chotto.objects.G2Point;
+import chotto.objects.Pairings;
+import chotto.objects.PowersOfTau;
+import chotto.objects.Transcript;
+import chotto.objects.Witness;
+import chotto.parallel.ChunkedTasks;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Checks the chain of contributions in the witness of a transcript from the generators to
+ * G1Powers[1], i.e. e(runningProducts[i], G2) = e(runningProducts[i - 1], potPubkeys[i]). The
+ * equations are combined in batches with random scalars, and a batch which fails is checked one
+ * participant at a time.
+ */
+class WitnessChainCheck {
+
+  private static final Logger LOG = LoggerFactory.getLogger(WitnessChainCheck.class);
+
+  static final int SCALAR_BITS = 64;
+  static final int SCALAR_BYTES = SCALAR_BITS / Byte.SIZE;
+
+  static final int BATCH_SIZE = 256;
+
+  private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+
+  private final ForkJoinPool forkJoinPool;
+
+  WitnessChainCheck(final ForkJoinPool forkJoinPool) {
+    this.forkJoinPool = forkJoinPool;
+  }
+
+  boolean isValid(final int transcriptIndex, final Transcript transcript) {
+    return isValid(transcriptIndex, transcript, 0);
+  }
+
+  /**
+   * Checks the chain from the entry at {@code firstEntry} of the witness, assuming the entries
+   * before it are already verified.
+   */
+  boolean isValid(final int transcriptIndex, final Transcript transcript, final int firstEntry) {
+    final Witness witness = transcript.getWitness();
+    final List<G1Point> runningProducts = witness.getRunningProducts();
+    final List<G2Point> potPubkeys = witness.getPotPubkeys();
+    if (runningProducts.isEmpty() || runningProducts.size() != potPubkeys.size()) {
+      LOG.error(
+          "Transcript {} has {} running products and {} PoT pubkeys",
+          transcriptIndex,
+          runningProducts.size(),
+          potPubkeys.size());
+      return false;
+    }
+    if (firstEntry == 0
+        && (!runningProducts.get(0).equals(G1Point.generator())
+            || !potPubkeys.get(0).equals(G2Point.generator()))) {
+      LOG.error("The witness of transcript {} doesn't start at the generators", transcriptIndex);
+      return false;
+    }
+    final OptionalInt invalidParticipant =
+        findInvalidParticipant(runningProducts, potPubkeys, firstEntry);
+    if (invalidParticipant.isPresent()) {
+      LOG.error(
+          "The running product of participant {} in transcript {} doesn't match their PoT pubkey",
+          invalidParticipant.getAsInt(),
+          transcriptIndex);
+      return false;
+    }
+    final PowersOfTau powersOfTau = transcript.getPowersOfTau();
+    final G1Point lastRunningProduct = runningProducts.get(runningProducts.size() - 1);
+    if (powersOfTau.getG1Powers().length < 2
+        || !lastRunningProduct.equals(powersOfTau.getG1Powers()[1])) {
+      LOG.error(
+          "The last running product of transcript {} is not the first power of tau",
+          transcriptIndex);
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Returns the index of a participant whose running product doesn't match their PoT pubkey. If
+   * there are several, any one of them may be returned.
+   */
+  OptionalInt findInvalidParticipant(
+      final List<G1Point> runningProducts, final List<G2Point> potPubkeys) {
+    return findInvalidParticipant(runningProducts, potPubkeys, 0);
+  }
+
+  private OptionalInt findInvalidParticipant(
+      final List<G1Point> runningProducts, final List<G2Point> potPubkeys, final int firstEntry) {
+    // participant 0 is the starting point of the chain, so there is nothing to check for it
+    final int firstParticipant = Math.max(firstEntry, 1);
+    if (firstParticipant >= runningProducts.size()) {
+      return OptionalInt.empty();
+    }
+    final AtomicInteger invalidParticipant = new AtomicInteger(-1);
+    ChunkedTasks.runInChunks(
+        forkJoinPool,
+        runningProducts.size() - firstParticipant,
+        BATCH_SIZE,
+        (start, end) -> {
+          if (invalidParticipant.get() >= 0) {
+            return;
+          }
+          final OptionalInt invalidParticipantInBatch =
+              checkBatch(
+                  runningProducts, potPubkeys, firstParticipant + start, firstParticipant + end);
+          invalidParticipantInBatch.ifPresent(
+              participant -> invalidParticipant.compareAndSet(-1, participant));
+        });
+    final int participant = invalidParticipant.get();
+    return participant >= 0 ? OptionalInt.of(participant) : OptionalInt.empty();
+  }
+
+  private OptionalInt checkBatch(
+      final List<G1Point> runningProducts,
+      final List<G2Point> potPubkeys,
+      final int start,
+      final int end) {
+    // the points are read several times below, so they are decoded once for the batch
+    final List<G1Point> batchRunningProducts =
+        new ArrayList<>(runningProducts.subList(start - 1, end));
+    final List<G2Point> batchPotPubkeys = new ArrayList<>(potPubkeys.subList(start, end));
+    try {
+      if (batchPasses(batchRunningProducts, batchPotPubkeys)) {
+        return OptionalInt.empty();
+      }
+    } catch (final IllegalArgumentException ex) {
+      // one of the points is not a valid point, which is found below
+    }
+    for (int i = 0; i < batchPotPubkeys.size(); i++) {
+      if (!participantPasses(batchRunningProducts, batchPotPubkeys, i)) {
+        return OptionalInt.of(start + i);
+      }
+    }
+    // only possible if the batch failed because of an unlucky choice of scalars
+    return OptionalInt.empty();
+  }
+
+  /**
+   * The running products start with the one preceding the batch, so participant i of the batch has
+   * the running product i + 1.
+   */
+  private boolean batchPasses(final List<G1Point> runningProducts, final List<G2Point> potPubkeys) {
+    final int size = potPubkeys.size();
+    final byte[] scalars = new byte[size * SCALAR_BYTES];
+    SECURE_RANDOM.nextBytes(scalars);
+    final G1Point combination =
+        G1Point.linearCombination(runningProducts.subList(1, size + 1), scalars, SCALAR_BITS);
+    final List<G1Point> scaledPreviousRunningProducts = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      final int offset = i * SCALAR_BYTES;
+      scaledPreviousRunningProducts.add(
+          runningProducts
+              .get(i)
+              .mul(Arrays.copyOfRange(scalars, offset, offset + SCALAR_BYTES), SCALAR_BITS));
+    }
+    return Pairings.pairingEqualsProduct(
+        combination, G2Point.generator(), scaledPreviousRunningProducts, potPubkeys);
+  }
+
+  private boolean participantPasses(
+      final List<G1Point> runningProducts, final List<G2Point> potPubkeys, final int index) {
+    try {
+      return Pairings.pairingsEqual(
+          runningProducts.get(index + 1),
+          G2Point.generator(),
+          runningProducts.get(index),
+          potPubkeys.get(index));
+    } catch (final IllegalArgumentException ex) {
+      return false;
+    }
+  }
+}
@@ -4,9 +4,13 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import chotto.TestUtil;
 import chotto.objects.BatchContribution;
+import chotto.objects.Contribution;
 import chotto.objects.Secret;
+import chotto.objects.SecretPowers;
 import chotto.serialization.ChottoObjectMapper;
 import chotto.verification.ContributionVerification;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import org.junit.jupiter.api.Test;
 
 class ContributionUpdaterTest {
@@ -24,7 +28,7 @@ class ContributionUpdaterTest {
             contribution -> {
               final Secret secret = TestUtil.generateRandomSecret();
               final int powersOfTauHashCodeBeforeUpdate = contribution.getPowersOfTau().hashCode();
-              ContributionUpdater.updatePowersOfTau(contribution, secret.toUInt256());
+              ContributionUpdater.updatePowersOfTau(contribution, secret.toFr());
               // check PowersOfTau is updated
               assertThat(contribution.getPowersOfTau().hashCode())
                   .isNotEqualTo(powersOfTauHashCodeBeforeUpdate);
@@ -33,4 +37,48 @@ class ContributionUpdaterTest {
     // contribution validity check
     assertThat(contributionVerification.pointChecks(batchContribution)).isTrue();
   }
+
+  @Test
+  public void updatesPowersOfTauInParallelSameAsSequentially() {
+    final List<Contribution> sequentialContributions =
+        TestUtil.getInitialBatchContribution().getContributions();
+    final List<Contribution> parallelContributions =
+        TestUtil.getInitialBatchContribution().getContributions();
+
+    final ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+
+    for (int i = 0; i < sequentialContributions.size(); i++) {
+      final Secret secret = TestUtil.generateRandomSecret();
+      ContributionUpdater.updatePowersOfTau(sequentialContributions.get(i), secret.toFr());
+      ContributionUpdater.updatePowersOfTau(
+          parallelContributions.get(i), secret.toFr(), forkJoinPool);
+    }
+
+    assertThat(parallelContributions).isEqualTo(sequentialContributions);
+
+    forkJoinPool.shutdown();
+  }
+
+  @Test
+  public void updatesPowersOfTauFromPrecomputedPowersSameAsFromSecret() {
+    final List<Contribution> expectedContributions =
+        TestUtil.getInitialBatchContribution().getContributions();
+    final List<Contribution> precomputedContributions =
+        TestUtil.getInitialBatchContribution().getContributions();
+
+    final ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+
+    for (int i = 0; i < expectedContributions.size(); i++) {
+      final Secret secret = TestUtil.generateRandomSecret();
+      final Contribution precomputedContribution = precomputedContributions.get(i);
+      final SecretPowers secretPowers =
+          SecretPowers.compute(secret.toFr(), precomputedContribution.getNumG1Powers());
+      ContributionUpdater.updatePowersOfTau(expectedContributions.get(i), secret.toFr());
+      ContributionUpdater.updatePowersOfTau(precomputedContribution, secretPowers, forkJoinPool);
+    }
+
+    assertThat(precomputedContributions).isEqualTo(expectedContributions);
+
+    forkJoinPool.shutdown();
+  }
 }
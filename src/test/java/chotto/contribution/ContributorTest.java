@@ -15,6 +15,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.IOException;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Stream;
 import org.json.JSONException;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -61,7 +62,8 @@ class ContributorTest {
               "0x1949e68bfab53a3f921ace3c83d562e36fa5fe82d6f603394e58627a2fa4a31553aca183c6adbb1dad2ac032358b863d2c2137fe2b046e822041037fb97758251c");
     }
 
-    final Contributor contributor = new Contributor(subContributionManager, ecdsaSignatureMaybe);
+    final Contributor contributor =
+        new Contributor(subContributionManager, ecdsaSignatureMaybe, new ForkJoinPool(4));
 
     final BatchContribution initialBatchContribution = TestUtil.getInitialBatchContribution();
 
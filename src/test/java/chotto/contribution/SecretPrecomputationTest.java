@@ -0,0 +1,50 @@
+package chotto.contribution;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import chotto.Constants;
+import chotto.TestUtil;
+import chotto.objects.Fr;
+import chotto.objects.Secret;
+import chotto.objects.SecretPowers;
+import chotto.secret.CsprngStub;
+import chotto.secret.SecretsManager;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+class SecretPrecomputationTest {
+
+  private final List<Secret> secrets = TestUtil.getTestSecrets();
+
+  @Test
+  public void precomputesPotPubkeysAndPowersOfSecrets() {
+    final SecretsManager secretsManager = new SecretsManager(CsprngStub.fromFixedSecrets(secrets));
+    secretsManager.generateSecrets();
+
+    final SecretPrecomputation secretPrecomputation =
+        SecretPrecomputation.start(secretsManager, ForkJoinPool.commonPool());
+
+    for (int i = 0; i < secrets.size(); i++) {
+      final Secret secret = secrets.get(i);
+      assertThat(secretPrecomputation.getPotPubkey(i))
+          .isEqualTo(SubContributionManager.computePotPubkey(secret));
+
+      final SecretPowers secretPowers = secretPrecomputation.getSecretPowers(i);
+      assertThat(secretPowers.getNumPowers())
+          .isEqualTo(Constants.SUB_CEREMONIES_NUM_G1_POWERS.get(i));
+
+      final byte[] power = new byte[Fr.BYTES];
+      secretPowers.copyPower(0, power);
+      assertThat(power).isEqualTo(Fr.one().toBytesLittleEndian());
+      secretPowers.copyPower(1, power);
+      assertThat(power).isEqualTo(secret.toFr().toBytesLittleEndian());
+      secretPowers.copyPower(4095, power);
+      assertThat(power).isEqualTo(secret.toFr().pow(4095).toBytesLittleEndian());
+
+      secretPowers.wipe();
+      secretPowers.copyPower(1, power);
+      assertThat(power).containsOnly(0);
+    }
+  }
+}
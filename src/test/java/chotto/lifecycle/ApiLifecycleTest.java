@@ -56,9 +56,10 @@ class ApiLifecycleTest {
 
     final Receipt receipt = new Receipt("receipt", "12345");
 
-    when(sequencerClient.contribute(updatedContribution, "123")).thenReturn(receipt);
+    when(sequencerClient.contribute(
+            updatedContribution, "123", tempDir.resolve("contribution-foobar.json")))
+        .thenReturn(receipt);
 
-    when(objectMapper.writeValueAsString(updatedContribution)).thenReturn("contribution123");
     when(objectMapper.writeValueAsString(receipt)).thenReturn("receipt12345");
 
     final Receipt result = apiLifecycle.runLifecycle();
@@ -66,7 +67,6 @@ class ApiLifecycleTest {
     assertThat(tempDir).isNotEmptyDirectory();
 
     assertThat(tempDir.resolve("receipt-foobar.txt")).exists().hasContent("receipt12345");
-    assertThat(tempDir.resolve("contribution-foobar.json")).exists().hasContent("contribution123");
 
     assertThat(result).isEqualTo(receipt);
   }
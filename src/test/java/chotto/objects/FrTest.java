@@ -0,0 +1,61 @@
+package chotto.objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import chotto.Constants;
+import chotto.TestUtil;
+import java.math.BigInteger;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class FrTest {
+
+  private static final BigInteger CURVE_ORDER = Constants.CURVE_ORDER.toBigInteger();
+
+  private final Random random = new Random(42);
+
+  @Test
+  public void convertsToAndFromBigInteger() {
+    for (int i = 0; i < 1000; i++) {
+      final BigInteger value = new BigInteger(260, random);
+      assertThat(Fr.fromBigInteger(value).toBigInteger()).isEqualTo(value.mod(CURVE_ORDER));
+    }
+    assertThat(Fr.fromBigInteger(CURVE_ORDER.subtract(BigInteger.ONE)).toBigInteger())
+        .isEqualTo(CURVE_ORDER.subtract(BigInteger.ONE));
+    assertThat(Fr.one().toBigInteger()).isEqualTo(BigInteger.ONE);
+  }
+
+  @Test
+  public void multipliesSameAsBigInteger() {
+    for (int i = 0; i < 1000; i++) {
+      final BigInteger a = new BigInteger(255, random);
+      final BigInteger b = new BigInteger(255, random);
+      final Fr product = Fr.fromBigInteger(a).mulAssign(Fr.fromBigInteger(b));
+      assertThat(product.toBigInteger()).isEqualTo(a.multiply(b).mod(CURVE_ORDER));
+    }
+    final Fr maxElement = Fr.fromBigInteger(CURVE_ORDER.subtract(BigInteger.ONE));
+    // (r - 1)^2 = 1 mod r
+    assertThat(maxElement.mulAssign(maxElement)).isEqualTo(Fr.one());
+  }
+
+  @ParameterizedTest
+  @ValueSource(longs = {0, 1, 2, 1024, 4095, 32767})
+  public void raisesToPower(final long exponent) {
+    final Secret secret = TestUtil.generateRandomSecret();
+    final BigInteger expected =
+        secret.toUInt256().toBigInteger().modPow(BigInteger.valueOf(exponent), CURVE_ORDER);
+    assertThat(secret.toFr().pow(exponent).toBigInteger()).isEqualTo(expected);
+  }
+
+  @Test
+  public void emitsLittleEndianBytes() {
+    final Secret secret = TestUtil.generateRandomSecret();
+    final byte[] littleEndian = secret.toFr().toBytesLittleEndian();
+    final byte[] bigEndian = secret.toBytes().toArrayUnsafe();
+    for (int i = 0; i < Fr.BYTES; i++) {
+      assertThat(littleEndian[i]).isEqualTo(bigEndian[Fr.BYTES - 1 - i]);
+    }
+  }
+}
@@ -0,0 +1,74 @@
+package chotto.objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import chotto.TestUtil;
+import java.util.Arrays;
+import nl.altindag.log.LogCaptor;
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+
+class G1PointTest {
+
+  // the point on the curve with x = 4, which is not in the prime order subgroup
+  private static final String NOT_IN_SUBGROUP_G1_POINT =
+      "0x800000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000004";
+
+  @Test
+  public void keepsCompressedBytesOfLazyPoint() {
+    final byte[] bytes = G1Point.generator().toBytesCompressed().toArray();
+
+    final G1Point point = G1Point.fromBytes(bytes);
+
+    assertThat(point.getCompressed()).isSameAs(bytes);
+    assertThat(point).isEqualTo(G1Point.generator()).hasSameHashCodeAs(G1Point.generator());
+  }
+
+  @Test
+  public void modifyingCompressedBytesDoesNotChangePoint() {
+    final G1Point point = G1Point.fromBytes(G1Point.generator().toBytesCompressed().toArray());
+
+    point.toBytesCompressed().toArrayUnsafe()[1] ^= 1;
+
+    assertThat(point).isEqualTo(G1Point.generator()).hasSameHashCodeAs(G1Point.generator());
+  }
+
+  @Test
+  public void decompressesLazyPointForArithmetic() {
+    final byte[] scalar = TestUtil.generateRandomSecret().toFr().toBytesLittleEndian();
+    final G1Point point = G1Point.fromBytes(G1Point.generator().toBytesCompressed().toArray());
+
+    final G1Point expected = G1Point.generator().mul(scalar);
+    assertThat(point.mul(scalar)).isEqualTo(expected);
+
+    point.mulInPlace(scalar, Fr.BITS);
+    assertThat(point).isEqualTo(expected);
+    assertThat(point.isInPrimeSubgroup()).isTrue();
+  }
+
+  @Test
+  public void invalidEncodingIsOnlyDetectedWhenDecompressing() {
+    final byte[] bytes = new byte[G1Point.COMPRESSED_SIZE];
+    Arrays.fill(bytes, (byte) 0xff);
+
+    final G1Point point = G1Point.fromBytes(bytes);
+    final LogCaptor logCaptor = LogCaptor.forClass(G1Point.class);
+
+    assertThat(point.toBytesCompressed()).isEqualTo(Bytes.wrap(bytes));
+    assertThat(point.isInPrimeSubgroup()).isFalse();
+    assertThat(logCaptor.getWarnLogs())
+        .singleElement()
+        .asString()
+        .contains("can't be decompressed")
+        .contains(Bytes.wrap(bytes).toHexString());
+    assertThatThrownBy(point::decompress).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void pointNotInSubgroupIsDetected() {
+    final G1Point point = G1Point.fromHexString(NOT_IN_SUBGROUP_G1_POINT);
+
+    assertThat(point.isInPrimeSubgroup()).isFalse();
+  }
+}
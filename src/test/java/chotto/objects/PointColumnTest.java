@@ -0,0 +1,89 @@
+package chotto.objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import chotto.TestUtil;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class PointColumnTest {
+
+  @Test
+  public void storesPointsAcrossSegments() {
+    final byte[] scalar = TestUtil.generateRandomSecret().toFr().toBytesLittleEndian();
+    final List<G1Point> points = new ArrayList<>();
+    final PointColumn<G1Point> column = PointColumn.forG1();
+    G1Point point = G1Point.generator();
+    for (int i = 0; i < PointColumn.SEGMENT_SIZE + 10; i++) {
+      points.add(point);
+      column.append(point.toBytesCompressed().toArray());
+      point = point.mul(scalar);
+    }
+
+    assertThat(column).hasSize(points.size()).isEqualTo(points);
+    assertThat(column.indexOf(points.get(PointColumn.SEGMENT_SIZE + 5)))
+        .isEqualTo(PointColumn.SEGMENT_SIZE + 5);
+    assertThat(column.contains(point)).isFalse();
+    assertThat(column.contains(G2Point.generator())).isFalse();
+  }
+
+  @Test
+  public void compressesUncompressedPoints() {
+    final PointColumn<G2Point> column = PointColumn.forG2();
+
+    column.append(G2Point.generator().getP2().serialize());
+
+    assertThat(column).containsExactly(G2Point.generator());
+    assertThat(column.getCompressed(0)).isEqualTo(G2Point.generator().getCompressed());
+  }
+
+  @Test
+  public void onlyStoresNullBlsSignatures() {
+    final PointColumn<BlsSignature> column = PointColumn.forBlsSignatures();
+
+    column.append(null);
+
+    assertThat(column).containsExactly((BlsSignature) null);
+    assertThat(column.indexOf(null)).isEqualTo(0);
+    assertThatThrownBy(() -> PointColumn.forG2().append(null))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Null points are not allowed in this column");
+    assertThat(PointColumn.forG2().indexOf(null)).isEqualTo(-1);
+  }
+
+  @Test
+  public void failsOnPointOfWrongSize() {
+    final PointColumn<BlsSignature> column = PointColumn.forBlsSignatures();
+
+    assertThatThrownBy(() -> column.append(new byte[47]))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Expected 48 or 96 bytes but got 47");
+    assertThatThrownBy(() -> column.get(0)).isInstanceOf(IndexOutOfBoundsException.class);
+  }
+
+  @Test
+  public void wrapsBufferOfCompressedPoints() {
+    final int numberOfPoints = PointColumn.SEGMENT_SIZE + 1;
+    final ByteBuffer buffer = ByteBuffer.allocate(numberOfPoints * G1Point.COMPRESSED_SIZE);
+    for (int i = 0; i < numberOfPoints - 1; i++) {
+      buffer.put(new byte[G1Point.COMPRESSED_SIZE]);
+    }
+    buffer.put(G1Point.generator().getCompressed());
+    buffer.flip();
+
+    final PointColumn<G1Point> column = PointColumn.forG1(buffer);
+
+    assertThat(column).hasSize(numberOfPoints);
+    // zeros are not a null point in a G1 column, but a point which is not valid
+    assertThat(column.get(0)).isNotNull();
+    assertThat(column.get(0).isInPrimeSubgroup()).isFalse();
+    assertThat(column.get(numberOfPoints - 1)).isEqualTo(G1Point.generator());
+    assertThat(column.indexOf(G1Point.generator())).isEqualTo(numberOfPoints - 1);
+    assertThatThrownBy(() -> PointColumn.forG1(ByteBuffer.allocate(47)))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("The buffer size 47 is not a multiple of 48");
+  }
+}
@@ -0,0 +1,49 @@
+package chotto.objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import chotto.TestUtil;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class PointsNormalizationTest {
+
+  private final ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+
+  @Test
+  public void compressedG1PointsMatchIndividualCompression() {
+    final byte[] scalar = TestUtil.generateRandomSecret().toFr().toBytesLittleEndian();
+    final G1Point[] points =
+        IntStream.range(0, 2500).mapToObj(i -> G1Point.generator()).toArray(G1Point[]::new);
+    for (int i = 0; i < points.length; i++) {
+      for (int j = 0; j < i % 3 + 1; j++) {
+        points[i].mulInPlace(scalar, Fr.BITS);
+      }
+    }
+
+    PointsNormalization.normalizeAndCompress(points, forkJoinPool);
+
+    for (final G1Point point : points) {
+      assertThat(point.toBytesCompressed().toArrayUnsafe()).isEqualTo(point.getP1().compress());
+    }
+  }
+
+  @Test
+  public void compressedG2PointsMatchIndividualCompression() {
+    final byte[] scalar = TestUtil.generateRandomSecret().toFr().toBytesLittleEndian();
+    final G2Point[] points =
+        IntStream.range(0, 1100).mapToObj(i -> G2Point.generator()).toArray(G2Point[]::new);
+    for (int i = 0; i < points.length; i++) {
+      for (int j = 0; j < i % 3 + 1; j++) {
+        points[i].mulInPlace(scalar, Fr.BITS);
+      }
+    }
+
+    PointsNormalization.normalizeAndCompress(points, forkJoinPool);
+
+    for (final G2Point point : points) {
+      assertThat(point.toBytesCompressed().toArrayUnsafe()).isEqualTo(point.getP2().compress());
+    }
+  }
+}
@@ -0,0 +1,24 @@
+package chotto.objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class StringColumnTest {
+
+  @Test
+  public void internsValues() {
+    final List<String> values = new ArrayList<>();
+    final StringColumn column = new StringColumn();
+    for (int i = 0; i < 5000; i++) {
+      final String value = i % 2 == 0 ? "" : "eth|0x" + Integer.toHexString(i) + "|\u015d";
+      values.add(value);
+      column.append(value);
+    }
+
+    assertThat(column).isEqualTo(values);
+    assertThat(column.getNumberOfDistinctValues()).isEqualTo(2501);
+  }
+}
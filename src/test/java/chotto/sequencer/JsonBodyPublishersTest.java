@@ -0,0 +1,79 @@
+package chotto.sequencer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import chotto.TestUtil;
+import chotto.objects.BatchContribution;
+import chotto.serialization.ChottoObjectMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.net.http.HttpRequest.BodyPublisher;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class JsonBodyPublishersTest {
+
+  private final ObjectMapper objectMapper = ChottoObjectMapper.getInstance();
+
+  @Test
+  public void publishesSameBytesAsSerializingToByteArray() throws Exception {
+    final BatchContribution batchContribution = TestUtil.getInitialBatchContribution();
+
+    final byte[] publishedBytes =
+        collect(JsonBodyPublishers.ofJson(objectMapper, batchContribution)).get();
+
+    assertThat(publishedBytes).isEqualTo(objectMapper.writeValueAsBytes(batchContribution));
+  }
+
+  @Test
+  public void failsIfSerializationFails() {
+    final ExecutionException exception =
+        Assertions.assertThrows(
+            ExecutionException.class,
+            () -> collect(JsonBodyPublishers.ofJson(objectMapper, new FailingValue())).get());
+
+    assertThat(exception).hasRootCauseInstanceOf(IllegalStateException.class);
+  }
+
+  private CompletableFuture<byte[]> collect(final BodyPublisher bodyPublisher) {
+    final CompletableFuture<byte[]> result = new CompletableFuture<>();
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    bodyPublisher.subscribe(
+        new Flow.Subscriber<>() {
+          @Override
+          public void onSubscribe(final Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+          }
+
+          @Override
+          public void onNext(final ByteBuffer item) {
+            final byte[] chunk = new byte[item.remaining()];
+            item.get(chunk);
+            bytes.writeBytes(chunk);
+          }
+
+          @Override
+          public void onError(final Throwable throwable) {
+            result.completeExceptionally(throwable);
+          }
+
+          @Override
+          public void onComplete() {
+            result.complete(bytes.toByteArray());
+          }
+        });
+    return result;
+  }
+
+  private static class FailingValue {
+
+    @SuppressWarnings("unused")
+    public String getValue() {
+      throw new IllegalStateException("Cannot be serialized");
+    }
+  }
+}
@@ -2,7 +2,6 @@ package chotto.sequencer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import static org.mockserver.model.HttpRequest.request;
@@ -12,6 +11,7 @@ import chotto.TestUtil;
 import chotto.auth.Provider;
 import chotto.objects.BatchContribution;
 import chotto.objects.BatchTranscript;
+import chotto.objects.BatchTranscriptParameters;
 import chotto.objects.CeremonyStatus;
 import chotto.objects.Receipt;
 import chotto.objects.Transcript;
@@ -20,14 +20,22 @@ import chotto.serialization.ChottoObjectMapper;
 import chotto.verification.ContributionVerification;
 import chotto.verification.TranscriptVerification;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
 import org.json.JSONException;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.mockserver.configuration.Configuration;
@@ -63,9 +71,19 @@ class SequencerClientTest {
             objectMapper,
             transcriptVerification,
             contributionVerification);
-    when(transcriptVerification.schemaCheck(anyString())).thenReturn(true);
+    when(transcriptVerification.schemaCheckAndBind(any(InputStream.class)))
+        .thenAnswer(
+            invocation ->
+                Optional.of(
+                    objectMapper.readValue(
+                        invocation.<InputStream>getArgument(0), BatchTranscript.class)));
     when(transcriptVerification.pointChecks(any(BatchTranscript.class))).thenReturn(true);
-    when(contributionVerification.schemaCheck(anyString())).thenReturn(true);
+    when(contributionVerification.schemaCheckAndBind(any(InputStream.class)))
+        .thenAnswer(
+            invocation ->
+                Optional.of(
+                    objectMapper.readValue(
+                        invocation.<InputStream>getArgument(0), BatchContribution.class)));
     when(contributionVerification.pointChecks(any(BatchContribution.class))).thenReturn(true);
   }
 
@@ -91,11 +109,78 @@ class SequencerClientTest {
     assertThat(ceremonyStatus.getSequencerAddress()).isEqualTo("string");
   }
 
+  @Test
+  public void testGettingTranscriptFails() {
+    mockServer
+        .when(request().withMethod("GET").withPath("/info/current_state"))
+        .respond(response().withStatusCode(500).withBody("sequencer is down"));
+
+    final SequencerClientException exception =
+        Assertions.assertThrows(
+            SequencerClientException.class, () -> sequencerClient.getTranscript(false));
+
+    assertThat(exception)
+        .hasMessage("Failed to get transcript (status: 500, message: sequencer is down)");
+  }
+
+  @Test
+  public void testGettingTranscriptParameters() {
+    setupTranscriptResponse();
+
+    final BatchTranscriptParameters batchTranscriptParameters =
+        sequencerClient.getTranscriptParameters();
+
+    final BatchTranscript batchTranscript = TestUtil.getBatchTranscript("initialTranscript.json");
+    assertThat(batchTranscriptParameters.getTranscripts())
+        .extracting(
+            transcriptParameters ->
+                List.of(
+                    transcriptParameters.getNumG1Powers(), transcriptParameters.getNumG2Powers()))
+        .containsExactlyElementsOf(
+            batchTranscript.getTranscripts().stream()
+                .map(
+                    transcript -> List.of(transcript.getNumG1Powers(), transcript.getNumG2Powers()))
+                .collect(Collectors.toList()));
+  }
+
+  @Test
+  public void testGettingTranscriptParametersFails() {
+    mockServer
+        .when(request().withMethod("GET").withPath("/info/current_state"))
+        .respond(response().withStatusCode(500).withBody("sequencer is down"));
+
+    final SequencerClientException exception =
+        Assertions.assertThrows(
+            SequencerClientException.class, () -> sequencerClient.getTranscriptParameters());
+
+    assertThat(exception)
+        .hasMessage(
+            "Failed to get transcript parameters (status: 500, message: sequencer is down)");
+  }
+
+  @Test
+  public void testGettingTranscriptParametersWithMissingNumberOfPowersFails() {
+    mockServer
+        .when(request().withMethod("GET").withPath("/info/current_state"))
+        .respond(
+            response()
+                .withStatusCode(200)
+                .withBody("{\"transcripts\":[{\"numG1Powers\":4096,\"witness\":{}}]}"));
+
+    final SequencerClientException exception =
+        Assertions.assertThrows(
+            SequencerClientException.class, () -> sequencerClient.getTranscriptParameters());
+
+    assertThat(exception).hasRootCauseInstanceOf(MismatchedInputException.class);
+    assertThat(exception.getCause()).hasMessageContaining("Missing 'numG2Powers' field");
+  }
+
   @Test
   public void testGettingTranscriptDoesNotPassSchemaCheck() {
     setupTranscriptResponse();
 
-    when(transcriptVerification.schemaCheck(anyString())).thenReturn(false);
+    when(transcriptVerification.schemaCheckAndBind(any(InputStream.class)))
+        .thenReturn(Optional.empty());
 
     final IllegalStateException exception =
         Assertions.assertThrows(
@@ -221,7 +306,8 @@ class SequencerClientTest {
   public void testContributionDoesNotPassSchemaCheck() {
     setupContributionResponse();
 
-    when(contributionVerification.schemaCheck(anyString())).thenReturn(false);
+    when(contributionVerification.schemaCheckAndBind(any(InputStream.class)))
+        .thenReturn(Optional.empty());
 
     final IllegalStateException exception =
         Assertions.assertThrows(
@@ -286,6 +372,51 @@ class SequencerClientTest {
         JSONCompareMode.STRICT_ORDER);
   }
 
+  @Test
+  public void testContributionSuccessSavesUploadedContribution(@TempDir final Path tempDir)
+      throws IOException {
+    final BatchContribution batchContribution = TestUtil.getInitialBatchContribution();
+    final Path contributionPath = tempDir.resolve("contribution-foobar.json");
+
+    final HttpRequest requestDefinition =
+        request()
+            .withMethod("POST")
+            .withHeader("Authorization", "Bearer " + sessionId)
+            .withPath("/contribute");
+
+    mockServer
+        .when(requestDefinition)
+        .respond(
+            response()
+                .withStatusCode(200)
+                .withBody("{\"receipt\":\"string\",\"signature\":\"string\"}"));
+
+    sequencerClient.contribute(batchContribution, sessionId, contributionPath);
+
+    final HttpRequest[] recordedRequest = mockServer.retrieveRecordedRequests(requestDefinition);
+
+    assertThat(recordedRequest).hasSize(1);
+    assertThat(Files.readAllBytes(contributionPath))
+        .isEqualTo(recordedRequest[0].getBodyAsRawBytes());
+    assertThat(tempDir.resolve("contribution-foobar.json.tmp")).doesNotExist();
+  }
+
+  @Test
+  public void testContributionFailureDoesNotSaveContribution(@TempDir final Path tempDir) {
+    final BatchContribution batchContribution = TestUtil.getInitialBatchContribution();
+    final Path contributionPath = tempDir.resolve("contribution-foobar.json");
+
+    mockServer
+        .when(request().withMethod("POST").withPath("/contribute"))
+        .respond(response().withStatusCode(400).withBody("invalid contribution"));
+
+    Assertions.assertThrows(
+        SequencerClientException.class,
+        () -> sequencerClient.contribute(batchContribution, sessionId, contributionPath));
+
+    assertThat(tempDir).isEmptyDirectory();
+  }
+
   @Test
   public void testContributionFailure() {
     final BatchContribution batchContribution = TestUtil.getInitialBatchContribution();
@@ -0,0 +1,275 @@
+package chotto.sequencer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockserver.model.HttpRequest.request;
+import static org.mockserver.model.HttpResponse.response;
+
+import chotto.TestUtil;
+import chotto.objects.BatchTranscript;
+import chotto.objects.BatchTranscriptParameters;
+import chotto.objects.Transcript;
+import chotto.objects.TranscriptParameters;
+import chotto.serialization.BinaryTranscript;
+import chotto.serialization.ChottoObjectMapper;
+import chotto.verification.ContributionVerification;
+import chotto.verification.TranscriptVerification;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.stream.Collectors;
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockserver.configuration.Configuration;
+import org.mockserver.integration.ClientAndServer;
+import org.mockserver.model.HttpRequest;
+import org.slf4j.event.Level;
+
+class TranscriptCacheTest {
+
+  private static final String ETAG = "\"transcript-v1\"";
+
+  private final String transcriptJson = TestUtil.readResource("initialTranscript.json");
+  private final byte[] transcriptBytes = transcriptJson.getBytes(StandardCharsets.UTF_8);
+
+  @TempDir Path cacheDirectory;
+
+  private final TranscriptVerification transcriptVerification = mock(TranscriptVerification.class);
+
+  private ClientAndServer mockServer;
+  private SequencerClient sequencerClient;
+
+  @BeforeEach
+  public void setUp() {
+    mockServer =
+        ClientAndServer.startClientAndServer(Configuration.configuration().logLevel(Level.WARN));
+    sequencerClient =
+        new SequencerClient(
+            HttpClient.newBuilder().build(),
+            URI.create("http://localhost:" + mockServer.getPort()),
+            ChottoObjectMapper.getInstance(),
+            transcriptVerification,
+            mock(ContributionVerification.class),
+            Optional.of(new TranscriptCache(cacheDirectory)));
+  }
+
+  @AfterEach
+  public void cleanUp() {
+    mockServer.stop();
+  }
+
+  @Test
+  public void revalidatesCachedTranscript() throws IOException {
+    final HttpRequest conditionalRequest = transcriptRequest().withHeader("If-None-Match", ETAG);
+    mockServer.when(conditionalRequest).respond(response().withStatusCode(304));
+    mockServer
+        .when(transcriptRequest())
+        .respond(response().withStatusCode(200).withHeader("ETag", ETAG).withBody(transcriptJson));
+
+    final BatchTranscript downloadedTranscript = sequencerClient.getTranscript(false);
+
+    assertThat(cacheDirectory.resolve(TranscriptCache.TRANSCRIPT_FILE))
+        .hasBinaryContent(transcriptBytes);
+    assertThat(cacheDirectory.resolve(TranscriptCache.PARTIAL_TRANSCRIPT_FILE)).doesNotExist();
+    assertThat(cacheDirectory.resolve(TranscriptCache.BINARY_TRANSCRIPT_FILE)).exists();
+    assertThat(loadMetadata())
+        .containsEntry(TranscriptCache.ETAG_KEY, ETAG)
+        .containsEntry(TranscriptCache.SHA256_KEY, sha256(transcriptBytes))
+        .containsEntry(TranscriptCache.BINARY_SHA256_KEY, sha256(transcriptBytes));
+
+    final BatchTranscript cachedTranscript = sequencerClient.getTranscript(false);
+
+    assertThat(mockServer.retrieveRecordedRequests(conditionalRequest)).hasSize(1);
+    assertThat(cachedTranscript.getParticipantIds())
+        .isEqualTo(downloadedTranscript.getParticipantIds());
+    assertThat(cachedTranscript.getTranscripts().get(0).getPowersOfTau())
+        .isEqualTo(downloadedTranscript.getTranscripts().get(0).getPowersOfTau());
+  }
+
+  @Test
+  public void readsTranscriptParametersFromCachedTranscript() {
+    final HttpRequest conditionalRequest = transcriptRequest().withHeader("If-None-Match", ETAG);
+    mockServer.when(conditionalRequest).respond(response().withStatusCode(304));
+    mockServer
+        .when(transcriptRequest())
+        .respond(response().withStatusCode(200).withHeader("ETag", ETAG).withBody(transcriptJson));
+
+    final BatchTranscript downloadedTranscript = sequencerClient.getTranscript(false);
+
+    final BatchTranscriptParameters batchTranscriptParameters =
+        sequencerClient.getTranscriptParameters();
+
+    assertThat(mockServer.retrieveRecordedRequests(conditionalRequest)).hasSize(1);
+    assertThat(batchTranscriptParameters.getTranscripts())
+        .extracting(TranscriptParameters::getNumG1Powers)
+        .containsExactlyElementsOf(
+            downloadedTranscript.getTranscripts().stream()
+                .map(Transcript::getNumG1Powers)
+                .collect(Collectors.toList()));
+    assertThat(cacheDirectory.resolve(TranscriptCache.TRANSCRIPT_FILE))
+        .hasBinaryContent(transcriptBytes);
+  }
+
+  @Test
+  public void readsJsonWhenBinaryTranscriptCantBeLoaded() throws IOException {
+    mockServer
+        .when(transcriptRequest().withHeader("If-None-Match", ETAG))
+        .respond(response().withStatusCode(304));
+    mockServer
+        .when(transcriptRequest())
+        .respond(response().withStatusCode(200).withHeader("ETag", ETAG).withBody(transcriptJson));
+
+    sequencerClient.getTranscript(false);
+
+    final Path binaryTranscript = cacheDirectory.resolve(TranscriptCache.BINARY_TRANSCRIPT_FILE);
+    Files.writeString(binaryTranscript, "corrupted");
+
+    final BatchTranscript cachedTranscript = sequencerClient.getTranscript(false);
+
+    assertThat(cachedTranscript.getTranscripts()).hasSize(4);
+    // the binary transcript is written again from the json
+    assertThat(BinaryTranscript.load(binaryTranscript).getParticipantIds())
+        .isEqualTo(cachedTranscript.getParticipantIds());
+  }
+
+  @Test
+  public void resumesPartialDownload() throws IOException {
+    final int offset = transcriptBytes.length / 2;
+    Files.write(
+        cacheDirectory.resolve(TranscriptCache.PARTIAL_TRANSCRIPT_FILE),
+        Arrays.copyOf(transcriptBytes, offset));
+    final Properties metadata = new Properties();
+    metadata.setProperty(TranscriptCache.ETAG_KEY, ETAG);
+    storeMetadata(metadata);
+
+    final HttpRequest rangeRequest =
+        transcriptRequest()
+            .withHeader("Range", "bytes=" + offset + "-")
+            .withHeader("If-Range", ETAG);
+    mockServer
+        .when(rangeRequest)
+        .respond(
+            response()
+                .withStatusCode(206)
+                .withHeader(
+                    "Content-Range",
+                    String.format(
+                        "bytes %d-%d/%d",
+                        offset, transcriptBytes.length - 1, transcriptBytes.length))
+                .withHeader("ETag", ETAG)
+                .withBody(Arrays.copyOfRange(transcriptBytes, offset, transcriptBytes.length)));
+
+    final BatchTranscript batchTranscript = sequencerClient.getTranscript(false);
+
+    assertThat(mockServer.retrieveRecordedRequests(rangeRequest)).hasSize(1);
+    assertThat(batchTranscript.getTranscripts()).hasSize(4);
+    assertThat(cacheDirectory.resolve(TranscriptCache.TRANSCRIPT_FILE))
+        .hasBinaryContent(transcriptBytes);
+    assertThat(loadMetadata()).containsEntry(TranscriptCache.SHA256_KEY, sha256(transcriptBytes));
+  }
+
+  @Test
+  public void discardsCachedTranscriptWhichDoesNotMatchItsDigest() throws IOException {
+    Files.write(cacheDirectory.resolve(TranscriptCache.TRANSCRIPT_FILE), transcriptBytes);
+    final Properties metadata = new Properties();
+    metadata.setProperty(TranscriptCache.ETAG_KEY, ETAG);
+    metadata.setProperty(TranscriptCache.SHA256_KEY, sha256("{}".getBytes(StandardCharsets.UTF_8)));
+    storeMetadata(metadata);
+
+    final HttpRequest conditionalRequest = transcriptRequest().withHeader("If-None-Match", ETAG);
+    mockServer.when(conditionalRequest).respond(response().withStatusCode(304));
+    mockServer
+        .when(transcriptRequest())
+        .respond(response().withStatusCode(200).withHeader("ETag", ETAG).withBody(transcriptJson));
+
+    // the digest is only checked once the cached json has been read
+    assertThatThrownBy(() -> sequencerClient.getTranscript(false))
+        .isInstanceOf(SequencerClientException.class)
+        .hasRootCauseMessage("The cached transcript doesn't match its digest");
+    assertThat(cacheDirectory).isEmptyDirectory();
+
+    final BatchTranscript batchTranscript = sequencerClient.getTranscript(false);
+
+    assertThat(mockServer.retrieveRecordedRequests(conditionalRequest)).hasSize(1);
+    assertThat(batchTranscript.getTranscripts()).hasSize(4);
+    assertThat(cacheDirectory.resolve(TranscriptCache.TRANSCRIPT_FILE))
+        .hasBinaryContent(transcriptBytes);
+  }
+
+  @Test
+  public void doesNotCacheTranscriptWithoutValidators() {
+    mockServer
+        .when(transcriptRequest())
+        .respond(response().withStatusCode(200).withBody(transcriptJson));
+
+    final BatchTranscript batchTranscript = sequencerClient.getTranscript(false);
+
+    assertThat(batchTranscript.getTranscripts()).hasSize(4);
+    assertThat(cacheDirectory).isEmptyDirectory();
+  }
+
+  @Test
+  public void discardsTranscriptWhichDoesNotPassPointChecks() {
+    mockServer
+        .when(transcriptRequest())
+        .respond(response().withStatusCode(200).withHeader("ETag", ETAG).withBody(transcriptJson));
+    when(transcriptVerification.schemaCheckAndBind(any(InputStream.class)))
+        .thenAnswer(
+            invocation ->
+                Optional.of(
+                    ChottoObjectMapper.getInstance()
+                        .readValue(invocation.<InputStream>getArgument(0), BatchTranscript.class)));
+    when(transcriptVerification.pointChecks(any(BatchTranscript.class))).thenReturn(false);
+
+    assertThatThrownBy(() -> sequencerClient.getTranscript(true))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("The received transcript does not pass the point checks");
+
+    assertThat(cacheDirectory).isEmptyDirectory();
+  }
+
+  private HttpRequest transcriptRequest() {
+    return request().withMethod("GET").withPath("/info/current_state");
+  }
+
+  private Properties loadMetadata() throws IOException {
+    final Properties metadata = new Properties();
+    try (final Reader reader =
+        Files.newBufferedReader(cacheDirectory.resolve(TranscriptCache.METADATA_FILE))) {
+      metadata.load(reader);
+    }
+    return metadata;
+  }
+
+  private void storeMetadata(final Properties metadata) throws IOException {
+    try (final Writer writer =
+        Files.newBufferedWriter(cacheDirectory.resolve(TranscriptCache.METADATA_FILE))) {
+      metadata.store(writer, null);
+    }
+  }
+
+  private static String sha256(final byte[] bytes) {
+    try {
+      return Bytes.wrap(MessageDigest.getInstance("SHA-256").digest(bytes)).toHexString();
+    } catch (final NoSuchAlgorithmException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+}
@@ -0,0 +1,70 @@
+package chotto.sequencer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import chotto.objects.BatchTranscript;
+import chotto.objects.BatchTranscriptParameters;
+import chotto.objects.Transcript;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+class TranscriptPrefetchTest {
+
+  private final SequencerClient sequencerClient = mock(SequencerClient.class);
+
+  @Test
+  public void prefetchesVerifiedTranscriptAndDerivesParametersFromIt() {
+    final BatchTranscript batchTranscript =
+        new BatchTranscript(
+            List.of(new Transcript(4096, 65, null, null), new Transcript(8192, 65, null, null)),
+            List.of(),
+            List.of());
+    when(sequencerClient.getTranscript(true)).thenReturn(batchTranscript);
+
+    final TranscriptPrefetch transcriptPrefetch =
+        TranscriptPrefetch.start(sequencerClient, true, true, ForkJoinPool.commonPool());
+
+    assertThat(transcriptPrefetch.getVerifiedTranscript()).hasValue(batchTranscript);
+    assertThat(transcriptPrefetch.getTranscriptParameters().getTranscripts())
+        .extracting(transcriptParameters -> transcriptParameters.getNumG1Powers())
+        .containsExactly(4096, 8192);
+    verify(sequencerClient, times(1)).getTranscript(true);
+    verify(sequencerClient, never()).getTranscriptParameters();
+  }
+
+  @Test
+  public void prefetchesOnlyParametersWhenTranscriptIsNotVerified() {
+    final BatchTranscriptParameters batchTranscriptParameters =
+        new BatchTranscriptParameters(List.of());
+    when(sequencerClient.getTranscriptParameters()).thenReturn(batchTranscriptParameters);
+
+    final TranscriptPrefetch transcriptPrefetch =
+        TranscriptPrefetch.start(sequencerClient, false, true, ForkJoinPool.commonPool());
+
+    assertThat(transcriptPrefetch.getVerifiedTranscript()).isEmpty();
+    assertThat(transcriptPrefetch.getTranscriptParameters()).isSameAs(batchTranscriptParameters);
+    verify(sequencerClient, never()).getTranscript(true);
+    verify(sequencerClient, times(1)).getTranscriptParameters();
+  }
+
+  @Test
+  public void rethrowsFailureOfVerification() {
+    when(sequencerClient.getTranscript(true))
+        .thenThrow(
+            new IllegalStateException("The received transcript does not pass the point checks"));
+
+    final TranscriptPrefetch transcriptPrefetch =
+        TranscriptPrefetch.start(sequencerClient, true, false, ForkJoinPool.commonPool());
+
+    assertThatThrownBy(transcriptPrefetch::getVerifiedTranscript)
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("The received transcript does not pass the point checks");
+  }
+}
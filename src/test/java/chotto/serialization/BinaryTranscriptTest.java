@@ -0,0 +1,92 @@
+package chotto.serialization;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import chotto.TestUtil;
+import chotto.objects.BatchTranscript;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+import org.json.JSONException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.skyscreamer.jsonassert.JSONAssert;
+
+class BinaryTranscriptTest {
+
+  private static final ObjectMapper OBJECT_MAPPER = ChottoObjectMapper.getInstance();
+
+  @TempDir Path tempDirectory;
+
+  @ParameterizedTest
+  @ValueSource(
+      strings = {
+        "initialTranscript.json",
+        "integration/transcript.json",
+        "integration/otherTranscript.json"
+      })
+  public void convertsAndLoadsTranscript(final String transcriptResource)
+      throws IOException, JSONException {
+    final String transcriptJson = TestUtil.readResource(transcriptResource);
+    final Path jsonTranscript = tempDirectory.resolve("transcript.json");
+    final Path binaryTranscript = tempDirectory.resolve("transcript.bin");
+    Files.writeString(jsonTranscript, transcriptJson);
+
+    BinaryTranscript.convert(OBJECT_MAPPER, jsonTranscript, binaryTranscript);
+
+    assertThat(Files.size(binaryTranscript)).isLessThan(Files.size(jsonTranscript));
+
+    final BatchTranscript batchTranscript = BinaryTranscript.load(binaryTranscript);
+
+    JSONAssert.assertEquals(
+        transcriptJson, OBJECT_MAPPER.writeValueAsString(batchTranscript), true);
+  }
+
+  @Test
+  public void writesTranscriptWithColumnarStorage() throws IOException, JSONException {
+    final ObjectMapper objectMapper =
+        ChottoObjectMapper.create(ForkJoinPool.commonPool(), TranscriptStorage.COLUMNAR);
+    final String transcriptJson = TestUtil.readResource("integration/transcript.json");
+    final Path binaryTranscript = tempDirectory.resolve("transcript.bin");
+
+    BinaryTranscript.write(
+        objectMapper.readValue(transcriptJson, BatchTranscript.class), binaryTranscript);
+
+    final BatchTranscript batchTranscript = BinaryTranscript.load(binaryTranscript);
+
+    JSONAssert.assertEquals(
+        transcriptJson, OBJECT_MAPPER.writeValueAsString(batchTranscript), true);
+  }
+
+  @Test
+  public void failsToLoadBinaryTranscriptWhichDoesNotMatchItsDigest() throws IOException {
+    final Path binaryTranscript = tempDirectory.resolve("transcript.bin");
+    BinaryTranscript.write(
+        OBJECT_MAPPER.readValue(
+            TestUtil.readResource("initialTranscript.json"), BatchTranscript.class),
+        binaryTranscript);
+    final byte[] bytes = Files.readAllBytes(binaryTranscript);
+    bytes[bytes.length - 1] ^= 1;
+    Files.write(binaryTranscript, bytes);
+
+    assertThatThrownBy(() -> BinaryTranscript.load(binaryTranscript))
+        .isInstanceOf(IOException.class)
+        .hasMessageContaining("doesn't match its digest");
+  }
+
+  @Test
+  public void failsToLoadFileWhichIsNotABinaryTranscript() throws IOException {
+    final Path notABinaryTranscript = tempDirectory.resolve("transcript.bin");
+    Files.write(notABinaryTranscript, "{\"transcripts\":[]}".getBytes(StandardCharsets.UTF_8));
+
+    assertThatThrownBy(() -> BinaryTranscript.load(notABinaryTranscript))
+        .isInstanceOf(IOException.class)
+        .hasMessageContaining("is not a binary transcript");
+  }
+}
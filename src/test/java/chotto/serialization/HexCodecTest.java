@@ -0,0 +1,108 @@
+package chotto.serialization;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import chotto.objects.G1Point;
+import chotto.objects.G2Point;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class HexCodecTest {
+
+  private final JsonFactory jsonFactory = new JsonFactory();
+
+  @ParameterizedTest
+  @ValueSource(ints = {0, 1, 48, 96, 192, 500})
+  public void encodesAndDecodesBytes(final int size) throws IOException {
+    final byte[] bytes = new byte[size];
+    new Random(size).nextBytes(bytes);
+
+    final String json = encode(bytes);
+
+    assertThat(json).isEqualTo("\"" + Bytes.wrap(bytes).toHexString() + "\"");
+    assertThat(decode(json)).isEqualTo(bytes);
+  }
+
+  @Test
+  public void decodesWithoutPrefixAndInUpperCase() throws IOException {
+    assertThat(decode("\"0XABcd01\"")).containsExactly(0xab, 0xcd, 0x01);
+    assertThat(decode("\"abcd01\"")).containsExactly(0xab, 0xcd, 0x01);
+  }
+
+  @Test
+  public void decodesPointOfExpectedSize() throws IOException {
+    final String g1Point = G1Point.generator().toHexString();
+    final String g2Point = G2Point.generator().toHexString();
+
+    assertThat(decodePoint("\"" + g1Point + "\"", G1Point.COMPRESSED_SIZE))
+        .isEqualTo(Bytes.fromHexString(g1Point).toArrayUnsafe());
+    assertThat(decodePoint("\"" + g2Point + "\"", G2Point.COMPRESSED_SIZE))
+        .isEqualTo(Bytes.fromHexString(g2Point).toArrayUnsafe());
+
+    assertThatThrownBy(() -> decodePoint("\"" + g2Point + "00\"", G2Point.COMPRESSED_SIZE))
+        .isInstanceOf(JsonParseException.class)
+        .hasMessageStartingWith("Expected 96 or 192 bytes but got 97");
+  }
+
+  @Test
+  public void failsOnInvalidHex() {
+    assertThatThrownBy(() -> decode("\"0xabc\""))
+        .isInstanceOf(JsonParseException.class)
+        .hasMessageStartingWith("Hex string has an odd number of digits (3)");
+    assertThatThrownBy(() -> decode("\"0xabcg\""))
+        .isInstanceOf(JsonParseException.class)
+        .hasMessageStartingWith("Invalid hex character 'g'");
+    assertThatThrownBy(() -> decode("\"0xab\u00e9c\""))
+        .isInstanceOf(JsonParseException.class)
+        .hasMessageStartingWith("Invalid hex character '\u00e9'");
+    assertThatThrownBy(() -> decode("123"))
+        .isInstanceOf(JsonParseException.class)
+        .hasMessageStartingWith("Expected a hex string but got VALUE_NUMBER_INT");
+  }
+
+  @Test
+  public void checksIfBlank() throws IOException {
+    try (final JsonParser p = jsonFactory.createParser("[\"\", \"  \", \"0x\"]")) {
+      p.nextToken();
+      p.nextToken();
+      assertThat(HexCodec.isBlank(p)).isTrue();
+      p.nextToken();
+      assertThat(HexCodec.isBlank(p)).isTrue();
+      p.nextToken();
+      assertThat(HexCodec.isBlank(p)).isFalse();
+    }
+  }
+
+  private String encode(final byte[] bytes) throws IOException {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (final JsonGenerator gen = jsonFactory.createGenerator(out)) {
+      HexCodec.encode(gen, bytes);
+    }
+    return out.toString(StandardCharsets.UTF_8);
+  }
+
+  private byte[] decode(final String json) throws IOException {
+    try (final JsonParser p = jsonFactory.createParser(json)) {
+      p.nextToken();
+      return HexCodec.decode(p);
+    }
+  }
+
+  private byte[] decodePoint(final String json, final int compressedSize) throws IOException {
+    try (final JsonParser p = jsonFactory.createParser(json)) {
+      p.nextToken();
+      return HexCodec.decodePoint(p, compressedSize);
+    }
+  }
+}
@@ -1,12 +1,27 @@
 package chotto.serialization;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 import chotto.TestUtil;
 import chotto.objects.BatchContribution;
 import chotto.objects.BatchTranscript;
+import chotto.objects.Contribution;
+import chotto.objects.Fr;
+import chotto.objects.G1Point;
+import chotto.objects.G2Point;
+import chotto.objects.PointColumn;
+import chotto.objects.PowersOfTau;
+import chotto.objects.StringColumn;
+import chotto.objects.Witness;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.IOException;
+import java.math.BigInteger;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.StreamSupport;
 import org.json.JSONException;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.skyscreamer.jsonassert.JSONAssert;
@@ -57,4 +72,124 @@ class SerializationTests {
 
     JSONAssert.assertEquals(transcriptJson, serializedTranscript, true);
   }
+
+  @Test
+  public void decompressesPowersOfTauInParallel() throws IOException {
+    final ObjectMapper objectMapper = ChottoObjectMapper.create(new ForkJoinPool(4));
+    final String initialContributionJson = TestUtil.readResource("initialContribution.json");
+
+    final BatchContribution batchContribution =
+        objectMapper.readValue(initialContributionJson, BatchContribution.class);
+
+    final JsonNode contributionsNode =
+        objectMapper.readTree(initialContributionJson).get("contributions");
+    for (int i = 0; i < contributionsNode.size(); i++) {
+      final JsonNode powersOfTauNode = contributionsNode.get(i).get("powersOfTau");
+      final G1Point[] expectedG1Powers =
+          StreamSupport.stream(powersOfTauNode.get("G1Powers").spliterator(), false)
+              .map(node -> G1Point.fromHexString(node.asText()))
+              .toArray(G1Point[]::new);
+      final G2Point[] expectedG2Powers =
+          StreamSupport.stream(powersOfTauNode.get("G2Powers").spliterator(), false)
+              .map(node -> G2Point.fromHexString(node.asText()))
+              .toArray(G2Point[]::new);
+      assertThat(batchContribution.getContributions().get(i).getPowersOfTau())
+          .isEqualTo(new PowersOfTau(expectedG1Powers, expectedG2Powers));
+    }
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {0, 1, 255, 256, 257, 1000})
+  public void deserializesPowersOfTauOfAnySize(final int numG1Powers) throws IOException {
+    final ObjectMapper objectMapper = ChottoObjectMapper.create(new ForkJoinPool(4));
+    final G1Point[] g1Powers = new G1Point[numG1Powers];
+    for (int i = 0; i < numG1Powers; i++) {
+      final Fr scalar = Fr.fromBigInteger(BigInteger.valueOf(i + 1));
+      g1Powers[i] = G1Point.generator().mul(scalar.toBytesLittleEndian());
+    }
+    final PowersOfTau powersOfTau =
+        new PowersOfTau(g1Powers, new G2Point[] {G2Point.generator(), G2Point.generator()});
+
+    final String json = objectMapper.writeValueAsString(powersOfTau);
+
+    assertThat(objectMapper.readValue(json, PowersOfTau.class)).isEqualTo(powersOfTau);
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {4096, 4097, 1000000})
+  public void deserializesPowersOfTauWhichDontMatchTheDeclaredNumG1Powers(
+      final int declaredNumG1Powers) throws IOException {
+    final ObjectMapper objectMapper = ChottoObjectMapper.create(new ForkJoinPool(4));
+    final PowersOfTau powersOfTau =
+        new PowersOfTau(
+            new G1Point[] {G1Point.generator(), G1Point.generator(), G1Point.generator()},
+            new G2Point[] {G2Point.generator(), G2Point.generator()});
+
+    final String json =
+        String.format(
+            "{\"numG1Powers\":%d,\"numG2Powers\":2,\"powersOfTau\":%s}",
+            declaredNumG1Powers, objectMapper.writeValueAsString(powersOfTau));
+
+    final Contribution contribution = objectMapper.readValue(json, Contribution.class);
+
+    assertThat(contribution.getNumG1Powers()).isEqualTo(declaredNumG1Powers);
+    assertThat(contribution.getPowersOfTau()).isEqualTo(powersOfTau);
+  }
+
+  @Test
+  public void deserializesAndSerializesWitness() throws IOException {
+    final String witnessJson =
+        String.format(
+            "{\"runningProducts\":[\"%s\",\"%s\"],"
+                + "\"potPubkeys\":[\"%s\",\"%s\"],"
+                + "\"blsSignatures\":[\"\",\"%s\"]}",
+            G1Point.generator().toHexString(),
+            G1Point.generator().toHexString(),
+            G2Point.generator().toHexString(),
+            G2Point.generator().toHexString(),
+            G1Point.generator().toHexString());
+
+    final Witness witness = OBJECT_MAPPER.readValue(witnessJson, Witness.class);
+
+    assertThat(witness.getRunningProducts())
+        .containsExactly(G1Point.generator(), G1Point.generator());
+    assertThat(witness.getPotPubkeys()).containsExactly(G2Point.generator(), G2Point.generator());
+    assertThat(witness.getBlsSignatures()).hasSize(2);
+    assertThat(witness.getBlsSignatures().get(0)).isNull();
+    assertThat(witness.getBlsSignatures().get(1).toBytesCompressed())
+        .isEqualTo(G1Point.generator().toBytesCompressed());
+
+    assertThat(OBJECT_MAPPER.writeValueAsString(witness)).isEqualTo(witnessJson);
+  }
+
+  @ParameterizedTest
+  @ValueSource(
+      strings = {
+        "initialTranscript.json",
+        "integration/transcript.json",
+        "integration/otherTranscript.json"
+      })
+  public void deserializesTranscriptWithColumnarStorage(final String transcriptResource)
+      throws JsonProcessingException, JSONException {
+    final ObjectMapper objectMapper =
+        ChottoObjectMapper.create(ForkJoinPool.commonPool(), TranscriptStorage.COLUMNAR);
+    final String transcriptJson = TestUtil.readResource(transcriptResource);
+
+    final BatchTranscript batchTranscript =
+        objectMapper.readValue(transcriptJson, BatchTranscript.class);
+    final BatchTranscript heapBatchTranscript =
+        OBJECT_MAPPER.readValue(transcriptJson, BatchTranscript.class);
+
+    assertThat(batchTranscript.getParticipantIds())
+        .isInstanceOf(StringColumn.class)
+        .isEqualTo(heapBatchTranscript.getParticipantIds());
+    for (int i = 0; i < batchTranscript.getTranscripts().size(); i++) {
+      final Witness witness = batchTranscript.getTranscripts().get(i).getWitness();
+      assertThat(witness.getPotPubkeys())
+          .isInstanceOf(PointColumn.class)
+          .isEqualTo(heapBatchTranscript.getTranscripts().get(i).getWitness().getPotPubkeys());
+    }
+
+    JSONAssert.assertEquals(transcriptJson, objectMapper.writeValueAsString(batchTranscript), true);
+  }
 }
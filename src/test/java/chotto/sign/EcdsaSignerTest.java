@@ -7,7 +7,7 @@ import static org.mockito.Mockito.when;
 import chotto.Constants;
 import chotto.Store;
 import chotto.contribution.SubContributionManager;
-import chotto.objects.BatchTranscript;
+import chotto.objects.BatchTranscriptParameters;
 import chotto.objects.SubContributionContext;
 import chotto.template.TemplateResolver;
 import io.javalin.Javalin;
@@ -37,20 +37,22 @@ class EcdsaSignerTest {
   @Test
   public void testEcdsaSigning() {
     final String ethAddress = "0xC4b1c53aB4a4636e4DF2283B04e71aa022B7Aae3";
-    final BatchTranscript batchTranscript = mock(BatchTranscript.class);
+    final BatchTranscriptParameters batchTranscriptParameters =
+        mock(BatchTranscriptParameters.class);
 
     final String expectedSignature =
         "0x1949e68bfab53a3f921ace3c83d562e36fa5fe82d6f603394e58627a2fa4a31553aca183c6adbb1dad2ac032358b863d2c2137fe2b046e822041037fb97758251c";
 
     when(subContributionManager.getContexts()).thenReturn(List.of(subContributionContext));
-    when(templateResolver.createTypedData(batchTranscript, List.of(subContributionContext)))
+    when(templateResolver.createTypedData(
+            batchTranscriptParameters, List.of(subContributionContext)))
         .thenReturn("{}");
     when(templateResolver.createSignContributionHtml(
             ethAddress, "{}", Constants.ECDSA_SIGN_CALLBACK_PATH))
         .thenReturn("<html></html>");
     when(store.getEcdsaSignature()).thenReturn(Optional.of(expectedSignature));
 
-    final String signature = ecdsaSigner.sign(ethAddress, batchTranscript);
+    final String signature = ecdsaSigner.sign(ethAddress, batchTranscriptParameters);
 
     assertThat(signature).isEqualTo(expectedSignature);
 
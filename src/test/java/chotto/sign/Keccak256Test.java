@@ -0,0 +1,36 @@
+package chotto.sign;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+
+class Keccak256Test {
+
+  @Test
+  public void hashesEmptyInput() {
+    assertThat(Bytes.wrap(Keccak256.hash()).toHexString())
+        .isEqualTo("0xc5d2460186f7233c927e7db2dcc703c0e500b653ca82273b7bfad8045d85a470");
+  }
+
+  @Test
+  public void hashesShortInput() {
+    assertThat(Bytes.wrap(Keccak256.hash("abc".getBytes(StandardCharsets.UTF_8))).toHexString())
+        .isEqualTo("0x4e03657aea45a94fc7d47ba826c8d667c0d1e6e33a64a036ec44f58fa12d6c45");
+  }
+
+  @Test
+  public void hashesConcatenationOfInputsSpanningSeveralBlocks() {
+    final byte[] input = new byte[300];
+    for (int i = 0; i < input.length; i++) {
+      input[i] = (byte) i;
+    }
+    final byte[] first = new byte[100];
+    final byte[] second = new byte[200];
+    System.arraycopy(input, 0, first, 0, first.length);
+    System.arraycopy(input, first.length, second, 0, second.length);
+
+    assertThat(Keccak256.hash(first, second)).isEqualTo(Keccak256.hash(input));
+  }
+}
@@ -0,0 +1,61 @@
+package chotto.sign;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+
+class Secp256k1Test {
+
+  // the personal_sign example of web3.js for the key
+  // 0x4c0883a69102937d6231471b5dbb6204fe5129617082792ae468d01a3f362318
+  private static final String ADDRESS = "0x2c7536e3605d9c16a7a3d7b1898e529396a65c23";
+  private static final String SIGNATURE =
+      "0xb91467e570a6466aa9e9876cbcd013baba02900b8979d43fe208a4a4f339f5fd"
+          + "6007e74cd82e037b800186422fc2da167c747ef045e5d18a5f5d4300f8e1a0291c";
+
+  private final byte[] messageHash =
+      Keccak256.hash(
+          "\u0019Ethereum Signed Message:\n9".getBytes(StandardCharsets.UTF_8),
+          "Some data".getBytes(StandardCharsets.UTF_8));
+
+  @Test
+  public void recoversAddressOfSigner() {
+    assertThat(Secp256k1.recoverAddress(messageHash, signature())).hasValue(ADDRESS);
+  }
+
+  @Test
+  public void acceptsRecoveryIdWithoutOffset() {
+    final byte[] signature = signature();
+    signature[64] -= 27;
+
+    assertThat(Secp256k1.recoverAddress(messageHash, signature)).hasValue(ADDRESS);
+  }
+
+  @Test
+  public void recoversAnotherAddressForAnotherMessage() {
+    final byte[] otherMessageHash = Keccak256.hash(messageHash);
+
+    assertThat(Secp256k1.recoverAddress(otherMessageHash, signature()))
+        .hasValueSatisfying(address -> assertThat(address).isNotEqualTo(ADDRESS));
+  }
+
+  @Test
+  public void rejectsInvalidSignatures() {
+    final byte[] invalidRecoveryId = signature();
+    invalidRecoveryId[64] = 29;
+    final byte[] zeroR = signature();
+    for (int i = 0; i < 32; i++) {
+      zeroR[i] = 0;
+    }
+
+    assertThat(Secp256k1.recoverAddress(messageHash, invalidRecoveryId)).isEmpty();
+    assertThat(Secp256k1.recoverAddress(messageHash, zeroR)).isEmpty();
+    assertThat(Secp256k1.recoverAddress(messageHash, new byte[64])).isEmpty();
+  }
+
+  private byte[] signature() {
+    return Bytes.fromHexString(SIGNATURE).toArray();
+  }
+}
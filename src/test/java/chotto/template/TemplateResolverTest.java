@@ -5,6 +5,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import chotto.Constants;
 import chotto.TestUtil;
 import chotto.objects.BatchTranscript;
+import chotto.objects.BatchTranscriptParameters;
 import chotto.objects.G2Point;
 import chotto.objects.SubContributionContext;
 import java.util.List;
@@ -33,7 +34,9 @@ class TemplateResolverTest {
                 "0x98f49582d9a5f2184b7abd2498649d22a141da14ad4054a9c4d1aecfc9e86c882c3cbed899042cd60f76f849bc3bd12a0dc6f04d9d8f5f7e393e88b7493c933975d4c2aea72271132637135593aa47a21f2b93b89f60cbd64d666ba5162ab2dd"));
 
     final String typedData =
-        templateEngine.createTypedData(batchTranscript, subContributionContexts);
+        templateEngine.createTypedData(
+            BatchTranscriptParameters.fromBatchTranscript(batchTranscript),
+            subContributionContexts);
 
     JSONAssert.assertEquals(
         TestUtil.readResource("template/expectedTypedData.json"), typedData, true);
@@ -0,0 +1,78 @@
+package chotto.verification;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import chotto.TestUtil;
+import chotto.objects.BatchTranscript;
+import chotto.objects.BlsSignature;
+import chotto.objects.G1Point;
+import chotto.objects.G2Point;
+import chotto.objects.Secret;
+import chotto.objects.Transcript;
+import chotto.objects.Witness;
+import chotto.sign.BlsSigner;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+class BlsSignatureCheckTest {
+
+  // spans more than one batch
+  private static final int NUM_PARTICIPANTS = BlsSignatureCheck.BATCH_SIZE + 5;
+
+  private final BlsSigner blsSigner = new BlsSigner();
+  private final BlsSignatureCheck blsSignatureCheck = new BlsSignatureCheck(new ForkJoinPool(4));
+
+  @Test
+  public void passesForValidSignaturesAndSkipsMissingOnes() {
+    final BatchTranscript batchTranscript = createBatchTranscript();
+    batchTranscript.getTranscripts().get(0).getWitness().getBlsSignatures().set(7, null);
+
+    assertThat(blsSignatureCheck.allValid(batchTranscript)).isTrue();
+  }
+
+  @Test
+  public void failsIfSignatureIsOverAnotherIdentity() {
+    final BatchTranscript batchTranscript = createBatchTranscript();
+    final Witness witness = batchTranscript.getTranscripts().get(0).getWitness();
+    witness
+        .getBlsSignatures()
+        .set(
+            NUM_PARTICIPANTS - 2,
+            blsSigner.sign(TestUtil.generateRandomSecret(), "git|87654321|@someone"));
+
+    assertThat(blsSignatureCheck.allValid(batchTranscript)).isFalse();
+  }
+
+  @Test
+  public void failsIfNumberOfSignaturesDoesNotMatchParticipants() {
+    final BatchTranscript batchTranscript = createBatchTranscript();
+    batchTranscript.getTranscripts().get(0).getWitness().getBlsSignatures().remove(1);
+
+    assertThat(blsSignatureCheck.allValid(batchTranscript)).isFalse();
+  }
+
+  private BatchTranscript createBatchTranscript() {
+    final List<String> participantIds = new ArrayList<>();
+    final List<G1Point> runningProducts = new ArrayList<>();
+    final List<G2Point> potPubkeys = new ArrayList<>();
+    final List<BlsSignature> blsSignatures = new ArrayList<>();
+    // the initial entry has no participant
+    participantIds.add("");
+    runningProducts.add(G1Point.generator());
+    potPubkeys.add(G2Point.generator());
+    blsSignatures.add(null);
+    for (int i = 1; i < NUM_PARTICIPANTS; i++) {
+      final Secret secret = TestUtil.generateRandomSecret();
+      final String participantId = "git|" + i + "|@participant" + i;
+      participantIds.add(participantId);
+      runningProducts.add(G1Point.generator());
+      potPubkeys.add(G2Point.generator().mul(secret.toFr().toBytesLittleEndian()));
+      blsSignatures.add(blsSigner.sign(secret, participantId));
+    }
+    final Witness witness = new Witness(runningProducts, potPubkeys, blsSignatures);
+    return new BatchTranscript(
+        List.of(new Transcript(2, 2, null, witness)), participantIds, new ArrayList<>());
+  }
+}
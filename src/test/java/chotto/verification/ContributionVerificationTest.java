@@ -4,13 +4,19 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import chotto.TestUtil;
 import chotto.objects.BatchContribution;
+import chotto.objects.G1Point;
 import chotto.serialization.ChottoObjectMapper;
+import java.util.concurrent.ForkJoinPool;
 import org.junit.jupiter.api.Test;
 
 class ContributionVerificationTest {
 
+  // the point on the curve with x = 4, which is not in the prime order subgroup
+  static final String NOT_IN_SUBGROUP_G1_POINT =
+      "0x800000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000004";
+
   private final ContributionVerification contributionVerification =
-      new ContributionVerification(ChottoObjectMapper.getInstance());
+      new ContributionVerification(ChottoObjectMapper.getInstance(), new ForkJoinPool(4));
 
   @Test
   public void checksSchema() {
@@ -25,4 +31,14 @@ class ContributionVerificationTest {
 
     assertThat(contributionVerification.pointChecks(batchContribution)).isTrue();
   }
+
+  @Test
+  public void failsSubgroupChecksIfPointIsNotInPrimeSubgroup() {
+    final BatchContribution batchContribution = TestUtil.getInitialBatchContribution();
+    final G1Point[] g1Powers =
+        batchContribution.getContributions().get(2).getPowersOfTau().getG1Powers();
+    g1Powers[g1Powers.length / 2] = G1Point.fromHexString(NOT_IN_SUBGROUP_G1_POINT);
+
+    assertThat(contributionVerification.pointChecks(batchContribution)).isFalse();
+  }
 }
@@ -0,0 +1,86 @@
+package chotto.verification;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import chotto.objects.BatchTranscript;
+import chotto.objects.G2Point;
+import chotto.objects.Transcript;
+import chotto.objects.Witness;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+class EcdsaSignatureCheckTest {
+
+  // the address of the key 0x4c0883a69102937d6231471b5dbb6204fe5129617082792ae468d01a3f362318
+  private static final String ETH_ID = "eth|0x2c7536e3605d9c16a7a3d7b1898e529396a65c23";
+  private static final String POT_PUBKEY =
+      "0x93e02b6052719f607dacd3a088274f65596bd0d09920b61ab5da61bbdc7f5049"
+          + "334cf11213945d57e5ac7d055d042b7e024aa2b2f08f0a91260805272dc51051"
+          + "c6e47ad4fa403b02b4510b647ae3d1770bac0326a805bbefd48056c8c121bdb8";
+  // signed with that key over the typed data of two transcripts with POT_PUBKEY as pubkey
+  private static final String ECDSA_SIGNATURE =
+      "0xbb50e2d89a4ed70663d080659fe0ad4b9bc3e06c17a227433966cb59ceee020d"
+          + "1248c4202719d29c5f8f43589ae3d9a11db72362544eb188aaade0738cacf0231b";
+
+  private final EcdsaSignatureCheck ecdsaSignatureCheck =
+      new EcdsaSignatureCheck(new ForkJoinPool(4));
+
+  @Test
+  public void passesForValidSignatureAndSkipsOtherParticipants() {
+    assertThat(ecdsaSignatureCheck.allValid(createBatchTranscript(4096, ETH_ID))).isTrue();
+  }
+
+  @Test
+  public void failsIfSignatureIsFromAnotherAddress() {
+    final BatchTranscript batchTranscript =
+        createBatchTranscript(4096, "eth|0x0000000000000000000000000000000000000001");
+
+    assertThat(ecdsaSignatureCheck.allValid(batchTranscript)).isFalse();
+  }
+
+  @Test
+  public void failsIfSignatureIsOverOtherParameters() {
+    assertThat(ecdsaSignatureCheck.allValid(createBatchTranscript(2048, ETH_ID))).isFalse();
+  }
+
+  @Test
+  public void failsIfSignatureIsMalformed() {
+    final BatchTranscript batchTranscript = createBatchTranscript(4096, ETH_ID);
+    batchTranscript.getParticipantEcdsaSignatures().set(2, "0x1234");
+
+    assertThat(ecdsaSignatureCheck.allValid(batchTranscript)).isFalse();
+  }
+
+  @Test
+  public void failsIfNumberOfSignaturesDoesNotMatchParticipants() {
+    final BatchTranscript batchTranscript = createBatchTranscript(4096, ETH_ID);
+    batchTranscript.getParticipantEcdsaSignatures().remove(0);
+
+    assertThat(ecdsaSignatureCheck.allValid(batchTranscript)).isFalse();
+  }
+
+  private BatchTranscript createBatchTranscript(final int numG1Powers, final String ethId) {
+    final List<String> participantIds =
+        new ArrayList<>(List.of("git|1|@participant1", ethId, "eth|0x42", ""));
+    // participants without an Ethereum identity or without a signature are skipped
+    final List<String> ecdsaSignatures =
+        new ArrayList<>(List.of(ECDSA_SIGNATURE, ECDSA_SIGNATURE, "", ""));
+    return new BatchTranscript(
+        List.of(
+            new Transcript(numG1Powers, 65, null, createWitness(participantIds.size())),
+            new Transcript(8192, 65, null, createWitness(participantIds.size()))),
+        participantIds,
+        ecdsaSignatures);
+  }
+
+  private Witness createWitness(final int numParticipants) {
+    final List<G2Point> potPubkeys = new ArrayList<>();
+    // the initial entry has no participant
+    for (int i = 0; i <= numParticipants; i++) {
+      potPubkeys.add(G2Point.fromHexString(POT_PUBKEY));
+    }
+    return new Witness(new ArrayList<>(), potPubkeys, new ArrayList<>());
+  }
+}
@@ -0,0 +1,75 @@
+package chotto.verification;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import chotto.TestUtil;
+import chotto.objects.G1Point;
+import chotto.objects.G2Point;
+import chotto.objects.PowersOfTau;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+class PowersConsistencyCheckTest {
+
+  // spans more than one chunk
+  private static final int NUM_G1_POWERS = PowersConsistencyCheck.CHUNK_SIZE + 3;
+  private static final int NUM_G2_POWERS = 65;
+
+  private final PowersConsistencyCheck powersConsistencyCheck =
+      new PowersConsistencyCheck(new ForkJoinPool(4));
+
+  @Test
+  public void passesForSuccessivePowersOfTau() {
+    assertThat(powersConsistencyCheck.isConsistent(randomPowersOfTau())).isTrue();
+  }
+
+  @Test
+  public void failsIfG1PowersAreSwapped() {
+    final PowersOfTau powersOfTau = randomPowersOfTau();
+    final G1Point[] g1Powers = powersOfTau.getG1Powers();
+    final G1Point power = g1Powers[NUM_G1_POWERS - 1];
+    g1Powers[NUM_G1_POWERS - 1] = g1Powers[NUM_G1_POWERS - 2];
+    g1Powers[NUM_G1_POWERS - 2] = power;
+
+    assertThat(powersConsistencyCheck.isConsistent(powersOfTau)).isFalse();
+  }
+
+  @Test
+  public void failsIfG2PowerIsFromAnotherTau() {
+    final PowersOfTau powersOfTau = randomPowersOfTau();
+    powersOfTau.getG2Powers()[10] = G2Point.generator().mul(randomScalar());
+
+    assertThat(powersConsistencyCheck.isConsistent(powersOfTau)).isFalse();
+  }
+
+  @Test
+  public void failsIfFirstPowerIsNotGenerator() {
+    final byte[] scalar = randomScalar();
+    final PowersOfTau powersOfTau = randomPowersOfTau();
+    final G1Point[] g1Powers = powersOfTau.getG1Powers();
+    for (int i = 0; i < g1Powers.length; i++) {
+      g1Powers[i] = g1Powers[i].mul(scalar);
+    }
+
+    assertThat(powersConsistencyCheck.isConsistent(powersOfTau)).isFalse();
+  }
+
+  private PowersOfTau randomPowersOfTau() {
+    final byte[] tau = randomScalar();
+    final G1Point[] g1Powers = new G1Point[NUM_G1_POWERS];
+    g1Powers[0] = G1Point.generator();
+    for (int i = 1; i < NUM_G1_POWERS; i++) {
+      g1Powers[i] = g1Powers[i - 1].mul(tau);
+    }
+    final G2Point[] g2Powers = new G2Point[NUM_G2_POWERS];
+    g2Powers[0] = G2Point.generator();
+    for (int i = 1; i < NUM_G2_POWERS; i++) {
+      g2Powers[i] = g2Powers[i - 1].mul(tau);
+    }
+    return new PowersOfTau(g1Powers, g2Powers);
+  }
+
+  private byte[] randomScalar() {
+    return TestUtil.generateRandomSecret().toFr().toBytesLittleEndian();
+  }
+}
@@ -0,0 +1,99 @@
+package chotto.verification;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import chotto.TestUtil;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.networknt.schema.JsonSchema;
+import com.networknt.schema.ValidationMessage;
+import java.io.IOException;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+class SchemaValidatingParserTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  @Test
+  public void validContributionHasNoErrors() throws IOException {
+    assertSameErrorsAsSchemaValidator(
+        "initialContribution.json",
+        SchemaLoader.loadContributionSchema(),
+        SchemaLoader.loadContributionSchemaJson(),
+        __ -> {});
+  }
+
+  @Test
+  public void validTranscriptHasNoErrors() throws IOException {
+    assertSameErrorsAsSchemaValidator(
+        "initialTranscript.json",
+        SchemaLoader.loadTranscriptSchema(),
+        SchemaLoader.loadTranscriptSchemaJson(),
+        __ -> {});
+  }
+
+  @Test
+  public void reportsSameErrorsForInvalidContribution() throws IOException {
+    assertSameErrorsAsSchemaValidator(
+        "initialContribution.json",
+        SchemaLoader.loadContributionSchema(),
+        SchemaLoader.loadContributionSchemaJson(),
+        contribution -> {
+          final ObjectNode firstSubContribution =
+              (ObjectNode) contribution.get("contributions").get(0);
+          firstSubContribution.put("numG1Powers", 4097);
+          firstSubContribution.put("numG2Powers", "65");
+          final ArrayNode g1Powers =
+              (ArrayNode) firstSubContribution.get("powersOfTau").get("G1Powers");
+          g1Powers.remove(0);
+          g1Powers.set(1, g1Powers.get(1).asText().toUpperCase());
+          ((ObjectNode) contribution.get("contributions").get(1)).remove("powersOfTau");
+        });
+  }
+
+  @Test
+  public void reportsSameErrorsForInvalidTranscript() throws IOException {
+    assertSameErrorsAsSchemaValidator(
+        "initialTranscript.json",
+        SchemaLoader.loadTranscriptSchema(),
+        SchemaLoader.loadTranscriptSchemaJson(),
+        transcript -> {
+          final ObjectNode witness =
+              (ObjectNode) transcript.get("transcripts").get(3).get("witness");
+          witness.remove("blsSignatures");
+          ((ArrayNode) witness.get("potPubkeys")).add("0x00");
+        });
+  }
+
+  private void assertSameErrorsAsSchemaValidator(
+      final String resource,
+      final JsonSchema schema,
+      final JsonNode schemaJson,
+      final Consumer<ObjectNode> modification)
+      throws IOException {
+    final ObjectNode json = (ObjectNode) objectMapper.readTree(TestUtil.readResource(resource));
+    modification.accept(json);
+
+    final Set<String> expectedErrors =
+        schema.validate(json).stream()
+            .map(ValidationMessage::getMessage)
+            .collect(Collectors.toSet());
+
+    final SchemaValidatingParser parser =
+        new SchemaValidatingParser(
+            objectMapper.getFactory().createParser(json.toString()), schemaJson);
+    try (final JsonParser __ = parser) {
+      while (parser.nextToken() != null) {
+        // only consume the tokens
+      }
+    }
+
+    assertThat(parser.getErrors()).containsExactlyInAnyOrderElementsOf(expectedErrors);
+  }
+}
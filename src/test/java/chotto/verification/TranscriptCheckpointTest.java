@@ -0,0 +1,144 @@
+package chotto.verification;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import chotto.TestUtil;
+import chotto.objects.BatchTranscript;
+import chotto.objects.BlsSignature;
+import chotto.objects.G1Point;
+import chotto.objects.G2Point;
+import chotto.objects.PowersOfTau;
+import chotto.objects.Transcript;
+import chotto.objects.Witness;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TranscriptCheckpointTest {
+
+  @TempDir Path tempDir;
+
+  @Test
+  public void savesAndLoadsCheckpoint() {
+    final BatchTranscript batchTranscript = createBatchTranscript(3);
+    final Path file = tempDir.resolve("checkpoint.properties");
+
+    TranscriptCheckpoint.create(batchTranscript).save(file);
+
+    assertThat(TranscriptCheckpoint.load(file))
+        .hasValueSatisfying(
+            checkpoint -> {
+              assertThat(checkpoint.getNumParticipants()).isEqualTo(3);
+              assertThat(checkpoint.isExtendedBy(batchTranscript)).isTrue();
+              assertThat(checkpoint.hasSamePowers(batchTranscript)).isTrue();
+            });
+  }
+
+  @Test
+  public void ignoresMissingOrCorruptedCheckpoint() throws IOException {
+    final Path file = tempDir.resolve("checkpoint.properties");
+
+    assertThat(TranscriptCheckpoint.load(file)).isEmpty();
+
+    Files.writeString(file, "numParticipants=abc");
+
+    assertThat(TranscriptCheckpoint.load(file)).isEmpty();
+  }
+
+  @Test
+  public void isExtendedByTranscriptWithAppendedParticipants() {
+    final BatchTranscript batchTranscript = createBatchTranscript(3);
+    final TranscriptCheckpoint checkpoint = TranscriptCheckpoint.create(batchTranscript);
+
+    appendParticipant(batchTranscript);
+
+    assertThat(checkpoint.isExtendedBy(batchTranscript)).isTrue();
+    assertThat(checkpoint.hasSamePowers(batchTranscript)).isFalse();
+  }
+
+  @Test
+  public void isNotExtendedByTranscriptWithChangedParticipants() {
+    final BatchTranscript batchTranscript = createBatchTranscript(3);
+    final TranscriptCheckpoint checkpoint = TranscriptCheckpoint.create(batchTranscript);
+
+    appendParticipant(batchTranscript);
+    batchTranscript.getParticipantIds().set(1, "git|42|@someone");
+
+    assertThat(checkpoint.isExtendedBy(batchTranscript)).isFalse();
+  }
+
+  @Test
+  public void isNotExtendedByTranscriptWithChangedWitness() {
+    final BatchTranscript batchTranscript = createBatchTranscript(3);
+    final TranscriptCheckpoint checkpoint = TranscriptCheckpoint.create(batchTranscript);
+
+    batchTranscript.getTranscripts().get(0).getWitness().getPotPubkeys().set(2, randomG2Point());
+
+    assertThat(checkpoint.isExtendedBy(batchTranscript)).isFalse();
+  }
+
+  @Test
+  public void isNotExtendedByShorterTranscript() {
+    final BatchTranscript batchTranscript = createBatchTranscript(3);
+    final TranscriptCheckpoint checkpoint = TranscriptCheckpoint.create(batchTranscript);
+
+    assertThat(checkpoint.isExtendedBy(createBatchTranscript(2))).isFalse();
+  }
+
+  private BatchTranscript createBatchTranscript(final int numParticipants) {
+    final List<String> participantIds = new ArrayList<>();
+    final List<String> ecdsaSignatures = new ArrayList<>();
+    final List<G1Point> runningProducts = new ArrayList<>();
+    final List<G2Point> potPubkeys = new ArrayList<>();
+    final List<BlsSignature> blsSignatures = new ArrayList<>();
+    // the initial entry has no participant
+    runningProducts.add(G1Point.generator());
+    potPubkeys.add(G2Point.generator());
+    blsSignatures.add(null);
+    final BatchTranscript batchTranscript =
+        new BatchTranscript(
+            List.of(
+                new Transcript(
+                    2, 2, randomPowers(), new Witness(runningProducts, potPubkeys, blsSignatures))),
+            participantIds,
+            ecdsaSignatures);
+    for (int i = 0; i < numParticipants; i++) {
+      participantIds.add("git|" + i + "|@participant" + i);
+      ecdsaSignatures.add("");
+      runningProducts.add(G1Point.generator().mul(randomScalar()));
+      potPubkeys.add(randomG2Point());
+      blsSignatures.add(null);
+    }
+    return batchTranscript;
+  }
+
+  private void appendParticipant(final BatchTranscript batchTranscript) {
+    final int numParticipants = batchTranscript.getParticipantIds().size();
+    batchTranscript.getParticipantIds().add("git|" + numParticipants + "|@newcomer");
+    batchTranscript.getParticipantEcdsaSignatures().add("");
+    final Transcript transcript = batchTranscript.getTranscripts().get(0);
+    final G1Point runningProduct = G1Point.generator().mul(randomScalar());
+    transcript.getWitness().getRunningProducts().add(runningProduct);
+    transcript.getWitness().getPotPubkeys().add(randomG2Point());
+    transcript.getWitness().getBlsSignatures().add(null);
+    transcript.getPowersOfTau().getG1Powers()[1] = runningProduct;
+  }
+
+  private PowersOfTau randomPowers() {
+    return new PowersOfTau(
+        new G1Point[] {G1Point.generator(), G1Point.generator().mul(randomScalar())},
+        new G2Point[] {G2Point.generator(), randomG2Point()});
+  }
+
+  private G2Point randomG2Point() {
+    return G2Point.generator().mul(randomScalar());
+  }
+
+  private byte[] randomScalar() {
+    return TestUtil.generateRandomSecret().toFr().toBytesLittleEndian();
+  }
+}
@@ -4,13 +4,27 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import chotto.TestUtil;
 import chotto.objects.BatchTranscript;
+import chotto.objects.G1Point;
+import chotto.objects.PointColumn;
 import chotto.serialization.ChottoObjectMapper;
+import chotto.serialization.TranscriptStorage;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import org.apache.tuweni.bytes.Bytes;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 class TranscriptVerificationTest {
 
   private final TranscriptVerification transcriptVerification =
-      new TranscriptVerification(ChottoObjectMapper.getInstance());
+      new TranscriptVerification(ChottoObjectMapper.getInstance(), new ForkJoinPool(4));
 
   @Test
   public void checksSchema() {
@@ -25,4 +39,68 @@ class TranscriptVerificationTest {
 
     assertThat(transcriptVerification.pointChecks(batchTranscript)).isTrue();
   }
+
+  @Test
+  public void failsSubgroupChecksIfPointIsNotInPrimeSubgroup() {
+    final BatchTranscript batchTranscript = TestUtil.getBatchTranscript("initialTranscript.json");
+    final G1Point[] g1Powers =
+        batchTranscript.getTranscripts().get(2).getPowersOfTau().getG1Powers();
+    g1Powers[g1Powers.length / 2] =
+        G1Point.fromHexString(ContributionVerificationTest.NOT_IN_SUBGROUP_G1_POINT);
+
+    assertThat(transcriptVerification.pointChecks(batchTranscript)).isFalse();
+  }
+
+  @Test
+  public void failsPointChecksIfColumnarWitnessHasZeroPoint() throws JsonProcessingException {
+    final ObjectMapper objectMapper =
+        ChottoObjectMapper.create(ForkJoinPool.commonPool(), TranscriptStorage.COLUMNAR);
+    final JsonNode transcriptJson =
+        objectMapper.readTree(TestUtil.readResource("initialTranscript.json"));
+    ((ArrayNode) transcriptJson.at("/transcripts/0/witness/runningProducts"))
+        .set(0, TextNode.valueOf(Bytes.wrap(new byte[G1Point.COMPRESSED_SIZE]).toHexString()));
+
+    final BatchTranscript batchTranscript =
+        objectMapper.readValue(
+            objectMapper.writeValueAsString(transcriptJson), BatchTranscript.class);
+
+    assertThat(batchTranscript.getTranscripts().get(0).getWitness().getRunningProducts())
+        .isInstanceOf(PointColumn.class)
+        .doesNotContainNull();
+    assertThat(transcriptVerification.pointChecks(batchTranscript)).isFalse();
+  }
+
+  @Test
+  public void checksG1PowersWhichChangedSinceCheckpoint(@TempDir final Path tempDir) {
+    final Path checkpointFile = tempDir.resolve("transcript-checkpoint.properties");
+    final TranscriptVerification verification =
+        new TranscriptVerification(
+            ChottoObjectMapper.getInstance(), new ForkJoinPool(4), Optional.of(checkpointFile));
+    final BatchTranscript batchTranscript = TestUtil.getBatchTranscript("initialTranscript.json");
+
+    assertThat(verification.pointChecks(batchTranscript)).isTrue();
+
+    final G1Point[] g1Powers =
+        batchTranscript.getTranscripts().get(0).getPowersOfTau().getG1Powers();
+    g1Powers[1] = G1Point.fromHexString(ContributionVerificationTest.NOT_IN_SUBGROUP_G1_POINT);
+
+    assertThat(verification.pointChecks(batchTranscript)).isFalse();
+  }
+
+  @Test
+  public void savesCheckpointAndVerifiesAgainstIt(@TempDir final Path tempDir) {
+    final Path checkpointFile = tempDir.resolve("transcript-checkpoint.properties");
+    final TranscriptVerification verification =
+        new TranscriptVerification(
+            ChottoObjectMapper.getInstance(), new ForkJoinPool(4), Optional.of(checkpointFile));
+    final BatchTranscript batchTranscript = TestUtil.getBatchTranscript("initialTranscript.json");
+
+    assertThat(verification.pointChecks(batchTranscript)).isTrue();
+    assertThat(Files.exists(checkpointFile)).isTrue();
+    assertThat(TranscriptCheckpoint.load(checkpointFile))
+        .hasValueSatisfying(
+            checkpoint -> assertThat(checkpoint.isExtendedBy(batchTranscript)).isTrue());
+
+    assertThat(verification.pointChecks(batchTranscript)).isTrue();
+  }
 }
@@ -0,0 +1,92 @@
+package chotto.verification;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import chotto.TestUtil;
+import chotto.objects.G1Point;
+import chotto.objects.G2Point;
+import chotto.objects.PowersOfTau;
+import chotto.objects.Transcript;
+import chotto.objects.Witness;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+class WitnessChainCheckTest {
+
+  // spans more than one batch
+  private static final int NUM_PARTICIPANTS = WitnessChainCheck.BATCH_SIZE + 5;
+
+  private final WitnessChainCheck witnessChainCheck = new WitnessChainCheck(new ForkJoinPool(4));
+
+  @Test
+  public void passesForValidChain() {
+    assertThat(witnessChainCheck.isValid(0, createTranscript(randomWitness()))).isTrue();
+  }
+
+  @Test
+  public void findsParticipantWhoBrokeTheChain() {
+    final Witness witness = randomWitness();
+    witness.getPotPubkeys().set(NUM_PARTICIPANTS - 3, G2Point.generator().mul(randomScalar()));
+
+    assertThat(
+            witnessChainCheck.findInvalidParticipant(
+                witness.getRunningProducts(), witness.getPotPubkeys()))
+        .hasValue(NUM_PARTICIPANTS - 3);
+    assertThat(witnessChainCheck.isValid(0, createTranscript(witness))).isFalse();
+  }
+
+  @Test
+  public void onlyChecksChainFromFirstEntry() {
+    final Witness witness = randomWitness();
+    witness.getPotPubkeys().set(3, G2Point.generator().mul(randomScalar()));
+    final Transcript transcript = createTranscript(witness);
+
+    assertThat(witnessChainCheck.isValid(0, transcript, 4)).isTrue();
+    assertThat(witnessChainCheck.isValid(0, transcript, 3)).isFalse();
+  }
+
+  @Test
+  public void failsIfLastRunningProductIsNotFirstPowerOfTau() {
+    final Witness witness = randomWitness();
+    final Transcript transcript =
+        new Transcript(
+            2,
+            2,
+            new PowersOfTau(
+                new G1Point[] {G1Point.generator(), G1Point.generator().mul(randomScalar())},
+                new G2Point[] {G2Point.generator(), G2Point.generator()}),
+            witness);
+
+    assertThat(witnessChainCheck.isValid(0, transcript)).isFalse();
+  }
+
+  private Transcript createTranscript(final Witness witness) {
+    final List<G1Point> runningProducts = witness.getRunningProducts();
+    return new Transcript(
+        2,
+        2,
+        new PowersOfTau(
+            new G1Point[] {G1Point.generator(), runningProducts.get(runningProducts.size() - 1)},
+            new G2Point[] {G2Point.generator(), G2Point.generator()}),
+        witness);
+  }
+
+  private Witness randomWitness() {
+    final List<G1Point> runningProducts = new ArrayList<>();
+    final List<G2Point> potPubkeys = new ArrayList<>();
+    runningProducts.add(G1Point.generator());
+    potPubkeys.add(G2Point.generator());
+    for (int i = 1; i < NUM_PARTICIPANTS; i++) {
+      final byte[] secret = randomScalar();
+      runningProducts.add(runningProducts.get(i - 1).mul(secret));
+      potPubkeys.add(G2Point.generator().mul(secret));
+    }
+    return new Witness(runningProducts, potPubkeys, new ArrayList<>());
+  }
+
+  private byte[] randomScalar() {
+    return TestUtil.generateRandomSecret().toFr().toBytesLittleEndian();
+  }
+}